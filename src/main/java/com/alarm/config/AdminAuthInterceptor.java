@@ -0,0 +1,68 @@
+package com.alarm.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 운영 제어 API(/api/admin/**), 부하 테스트 API(/api/test/load), 알람 확인 API(/api/alerts/{eventId}/ack) 토큰 인증
+ * X-Admin-Token 또는 Authorization: Bearer 헤더가 ALARM_ADMIN_TOKEN 과 같아야 한다 (미설정 시 API 비활성화)
+ */
+@Slf4j
+@Component
+public class AdminAuthInterceptor implements HandlerInterceptor {
+
+    private static final String TOKEN_HEADER = "X-Admin-Token";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${ALARM_ADMIN_TOKEN:}")
+    private String adminToken;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (adminToken.isBlank()) {
+            reject(response, HttpStatus.FORBIDDEN, "운영 제어 API 가 비활성화되어 있습니다 (ALARM_ADMIN_TOKEN 미설정)");
+            return false;
+        }
+
+        String token = request.getHeader(TOKEN_HEADER);
+        if (token == null) {
+            String authorization = request.getHeader("Authorization");
+            if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+                token = authorization.substring(BEARER_PREFIX.length()).trim();
+            }
+        }
+        // 비교 시간으로 토큰이 드러나지 않도록 고정 시간 비교
+        if (token == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), adminToken.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("🔒 운영 제어 API 인증 실패: {} {} ({})", request.getMethod(), request.getRequestURI(),
+                    request.getRemoteAddr());
+            reject(response, HttpStatus.UNAUTHORIZED, "인증 토큰이 올바르지 않습니다");
+            return false;
+        }
+        return true;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws Exception {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", "ERROR");
+        body.put("message", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(objectMapper.writeValueAsString(body));
+    }
+}
@@ -0,0 +1,41 @@
+package com.alarm.config;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 여러 리밸런스 리스너를 @Order 순서대로 호출한다
+ * (회수 시 발송 마무리 -> 상태 정리, 할당 시 상태 복원 등)
+ */
+public class CompositeRebalanceListener implements ConsumerAwareRebalanceListener {
+
+    private final List<ConsumerAwareRebalanceListener> delegates;
+
+    public CompositeRebalanceListener(List<ConsumerAwareRebalanceListener> delegates) {
+        this.delegates = List.copyOf(delegates);
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        delegates.forEach(delegate -> delegate.onPartitionsRevokedBeforeCommit(consumer, partitions));
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        delegates.forEach(delegate -> delegate.onPartitionsRevokedAfterCommit(consumer, partitions));
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        delegates.forEach(delegate -> delegate.onPartitionsLost(consumer, partitions));
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        delegates.forEach(delegate -> delegate.onPartitionsAssigned(consumer, partitions));
+    }
+}
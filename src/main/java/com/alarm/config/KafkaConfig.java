@@ -1,8 +1,12 @@
 package com.alarm.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,9 +14,15 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
 import org.springframework.kafka.listener.ContainerProperties;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -32,6 +42,13 @@ public class KafkaConfig {
     @Value("${CONSUMER_GROUP_ID}")
     private String consumerGroupId;
 
+    // 정적 그룹 멤버십용 인스턴스 ID (예: 파드 이름). 비어 있으면 동적 멤버로 참여
+    @Value("${KAFKA_GROUP_INSTANCE_ID:}")
+    private String groupInstanceId;
+
+    @Value("${KAFKA_PARTITION_ASSIGNMENT_STRATEGY:}")
+    private String partitionAssignmentStrategy;
+
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -42,8 +59,15 @@ public class KafkaConfig {
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
-        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
-        props.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, 1000);
+        // 발송이 끝난 레코드만 커밋하기 위해 자동 커밋 대신 수동 Ack 사용 (InFlightDispatchTracker)
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        // 점진적(cooperative) 리밸런싱 - 이동하는 파티션만 회수되어 나머지 리스너는 계속 처리
+        // 기존 eager 그룹에서 전환할 때는 "range,cooperative-sticky" 로 한 번 롤링한 뒤 제거
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG,
+                partitionAssignmentStrategy.isBlank()
+                        ? CooperativeStickyAssignor.class.getName()
+                        : partitionAssignmentStrategy);
         
         // 연결 및 세션 타임아웃 설정
         props.put(ConsumerConfig.REQUEST_TIMEOUT_MS_CONFIG, 30000);
@@ -57,41 +81,97 @@ public class KafkaConfig {
         props.put(ConsumerConfig.RECONNECT_BACKOFF_MAX_MS_CONFIG, 10000);
 
         // SCRAM-SHA-512 인증 설정
-        props.put("security.protocol", "SASL_PLAINTEXT");
-        props.put("sasl.mechanism", "SCRAM-SHA-512");
-        
-        // 관리자 계정으로 JAAS 설정
-        String jaasConfig = String.format(
-            "org.apache.kafka.common.security.scram.ScramLoginModule required " +
-            "username=\"%s\" " +
-            "password=\"%s\";",
-            adminUsername,
-            adminPassword
-        );
-        props.put("sasl.jaas.config", jaasConfig);
+        props.putAll(securityProperties());
         
         log.info("Kafka Consumer Factory 설정 완료 - 브로커: {}, 사용자: {}, 그룹: {}", 
                 bootstrapServers, adminUsername, consumerGroupId);
-        log.debug("JAAS 설정: {}", jaasConfig.replace(adminPassword, "***"));
 
         return new DefaultKafkaConsumerFactory<>(props);
     }
 
+    /**
+     * 상태 저장소 변경 로그(changelog) 기록용 Producer
+     */
+    @Bean
+    public ProducerFactory<String, String> producerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        props.putAll(securityProperties());
+
+        log.info("Kafka Producer Factory 설정 완료 - 브로커: {}", bootstrapServers);
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+
+    @Bean
+    public KafkaAdmin kafkaAdmin() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.putAll(securityProperties());
+        return new KafkaAdmin(props);
+    }
+
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(
+            List<ConsumerAwareRebalanceListener> rebalanceListeners) {
         ConcurrentKafkaListenerContainerFactory<String, String> factory = 
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         
         // 컨테이너 설정
         factory.setConcurrency(1); // 각 토픽당 하나의 컨슈머 스레드
-        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         factory.getContainerProperties().setSyncCommits(true);
+
+        // 파티션 회수 시 진행 중인 발송을 마무리한 뒤 완료된 오프셋만 커밋 (InFlightDispatchTracker)
+        // 파티션 할당 시 변경 로그에서 파티션 상태 복원 (PartitionStateStore)
+        factory.getContainerProperties().setConsumerRebalanceListener(
+                new CompositeRebalanceListener(rebalanceListeners));
+
+        // 정적 그룹 멤버십 - 리스너(컨테이너)마다 고유한 group.instance.id 부여
+        // 롤링 재시작 시 session.timeout 안에 돌아오면 리밸런싱이 일어나지 않음
+        if (!groupInstanceId.isBlank()) {
+            factory.setContainerCustomizer(container -> container.getContainerProperties()
+                    .getKafkaConsumerProperties()
+                    .setProperty(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG,
+                            groupInstanceId + "-" + container.getListenerId()));
+        }
         
         // 에러 핸들링
         factory.setCommonErrorHandler(new org.springframework.kafka.listener.DefaultErrorHandler());
         
-        log.info("Kafka Listener Container Factory 설정 완료");
+        log.info("Kafka Listener Container Factory 설정 완료 - 정적 멤버십: {}",
+                groupInstanceId.isBlank() ? "미사용" : groupInstanceId);
         return factory;
     }
+
+    /**
+     * SCRAM-SHA-512 인증 설정 (Consumer/Producer/Admin 공통)
+     */
+    private Map<String, Object> securityProperties() {
+        Map<String, Object> props = new HashMap<>();
+        props.put("security.protocol", "SASL_PLAINTEXT");
+        props.put("sasl.mechanism", "SCRAM-SHA-512");
+        
+        // 관리자 계정으로 JAAS 설정
+        String jaasConfig = String.format(
+            "org.apache.kafka.common.security.scram.ScramLoginModule required " +
+            "username=\"%s\" " +
+            "password=\"%s\";",
+            adminUsername,
+            adminPassword
+        );
+        props.put("sasl.jaas.config", jaasConfig);
+        log.debug("JAAS 설정: {}", jaasConfig.replace(adminPassword, "***"));
+        return props;
+    }
 }
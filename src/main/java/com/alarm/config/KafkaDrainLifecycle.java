@@ -0,0 +1,59 @@
+package com.alarm.config;
+
+import com.alarm.service.InFlightDispatchTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 애플리케이션 종료 시 리스너 컨테이너보다 먼저 멈춰서
+ * 1) 새 레코드 수신을 중단(pause)하고 2) 진행 중인 발송을 기한까지 마무리한 뒤
+ * 컨테이너가 완료된 오프셋만 커밋하고 종료되도록 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KafkaDrainLifecycle implements SmartLifecycle {
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final InFlightDispatchTracker dispatchTracker;
+
+    @Value("${ALARM_DRAIN_TIMEOUT_MS:20000}")
+    private long drainTimeoutMs;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        log.info("🛑 종료 요청 - 리스너 수신 중단 후 진행 중인 발송 {}건 마무리", dispatchTracker.inFlightCount());
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            container.pause();
+        }
+
+        if (dispatchTracker.awaitAll(drainTimeoutMs)) {
+            log.info("✅ 진행 중인 발송 마무리 완료");
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // 리스너 컨테이너(DEFAULT_PHASE)보다 늦게 시작하고 먼저 종료된다
+        return AbstractMessageListenerContainer.DEFAULT_PHASE + 50;
+    }
+}
@@ -0,0 +1,20 @@
+package com.alarm.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdminAuthInterceptor adminAuthInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 운영 제어 API, 부하 테스트(발송 스레드/SMTP 한도를 함께 쓰는 합성 부하), 알람 확인(재알림 중지)은 토큰 인증 필요
+        registry.addInterceptor(adminAuthInterceptor)
+                .addPathPatterns("/api/admin/**", "/api/test/load", "/api/alerts/*/ack");
+    }
+}
@@ -0,0 +1,125 @@
+package com.alarm.controller;
+
+import com.alarm.service.RuntimeControlService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 운영 제어 API - 재시작 없이 리스너와 발송 한도 조정 (AdminAuthInterceptor 토큰 인증)
+ * 요청자는 X-Admin-User 헤더(없으면 접속 IP)로 변경 이력에 남는다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private static final int MAX_SMTP_LIMIT = 256;
+
+    private final RuntimeControlService runtimeControlService;
+
+    /**
+     * 리스너 컨테이너별 실행/일시 중지 상태, 컨슈머 스레드 수, 컨슈머별 파티션 할당
+     */
+    @GetMapping("/listeners")
+    public ResponseEntity<Map<String, Object>> listeners() {
+        List<Map<String, Object>> listeners = runtimeControlService.listeners();
+        Map<String, Object> response = new HashMap<>();
+        response.put("count", listeners.size());
+        response.put("listeners", listeners);
+
+        log.info("리스너 상태 조회 요청");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 리스너 수신 일시 중지 (예: systemLevelFalse, resourceLevelFalse, certified2Time, certifiedNotMove)
+     */
+    @PostMapping("/listeners/{listenerId}/pause")
+    public ResponseEntity<Map<String, Object>> pause(@PathVariable String listenerId, HttpServletRequest request) {
+        Map<String, Object> listener = runtimeControlService.pause(listenerId, requester(request));
+        return listener != null ? ResponseEntity.ok(listener) : notFound(listenerId);
+    }
+
+    @PostMapping("/listeners/{listenerId}/resume")
+    public ResponseEntity<Map<String, Object>> resume(@PathVariable String listenerId, HttpServletRequest request) {
+        Map<String, Object> listener = runtimeControlService.resume(listenerId, requester(request));
+        return listener != null ? ResponseEntity.ok(listener) : notFound(listenerId);
+    }
+
+    /**
+     * 리스너 컨슈머 스레드 수 변경 - 해당 리스너만 진행 중인 발송을 마무리한 뒤 다시 시작한다
+     */
+    @PutMapping("/listeners/{listenerId}/concurrency")
+    public ResponseEntity<Map<String, Object>> concurrency(
+            @PathVariable String listenerId,
+            @RequestParam int value,
+            HttpServletRequest request) {
+        try {
+            Map<String, Object> listener = runtimeControlService.updateConcurrency(listenerId, value, requester(request));
+            return listener != null ? ResponseEntity.ok(listener) : notFound(listenerId);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
+    /**
+     * SMTP 동시 발송 최대 한도 변경 (적응형 한도는 이 값 안에서 조정되고, @Async 발송 스레드 수도 이 값으로 맞춘다)
+     */
+    @PutMapping("/smtp-limit")
+    public ResponseEntity<Map<String, Object>> smtpLimit(@RequestParam int max, HttpServletRequest request) {
+        if (max > MAX_SMTP_LIMIT) {
+            return badRequest("최대 한도는 " + MAX_SMTP_LIMIT + " 이하여야 합니다: " + max);
+        }
+        try {
+            return ResponseEntity.ok(runtimeControlService.updateSmtpMaxLimit(max, requester(request)));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
+    /**
+     * 최근 운영 변경 이력 (최신순)
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> changes() {
+        List<Map<String, Object>> changes = runtimeControlService.history();
+        Map<String, Object> response = new HashMap<>();
+        response.put("count", changes.size());
+        response.put("changes", changes);
+        return ResponseEntity.ok(response);
+    }
+
+    private String requester(HttpServletRequest request) {
+        String user = request.getHeader("X-Admin-User");
+        return user != null && !user.isBlank() ? user.trim() : request.getRemoteAddr();
+    }
+
+    private ResponseEntity<Map<String, Object>> notFound(String listenerId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "ERROR");
+        response.put("message", "알 수 없는 리스너: " + listenerId);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> badRequest(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "ERROR");
+        response.put("message", message);
+        return ResponseEntity.badRequest().body(response);
+    }
+}
@@ -0,0 +1,170 @@
+package com.alarm.controller;
+
+import com.alarm.service.AlertSeverity;
+import com.alarm.service.EscalationService;
+import com.alarm.service.HeavyHitterService;
+import com.alarm.service.LoadSheddingService;
+import com.alarm.service.RecentAlertBuffer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+
+    private static final int MAX_LIMIT = 1000;
+    private static final int MAX_TOP_LIMIT = 100;
+
+    private final RecentAlertBuffer recentAlertBuffer;
+    private final LoadSheddingService loadSheddingService;
+    private final HeavyHitterService heavyHitterService;
+    private final EscalationService escalationService;
+
+    /**
+     * 최근 알람 조회 (최신순)
+     * @param topic    토픽 이름 필터 (선택)
+     * @param severity 위험도 필터 - HIGH, MEDIUM, MONITOR, LOW, NORMAL (선택)
+     */
+    @GetMapping("/recent")
+    public ResponseEntity<Map<String, Object>> recent(
+            @RequestParam(required = false) String topic,
+            @RequestParam(required = false) String severity,
+            @RequestParam(defaultValue = "50") int limit) {
+        Map<String, Object> response = new HashMap<>();
+
+        AlertSeverity severityFilter = null;
+        if (severity != null && !severity.isBlank()) {
+            try {
+                severityFilter = AlertSeverity.valueOf(severity.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                response.put("status", "ERROR");
+                response.put("message", "알 수 없는 위험도: " + severity);
+                return ResponseEntity.badRequest().body(response);
+            }
+        }
+
+        List<Map<String, Object>> alerts = recentAlertBuffer.recent(
+                topic, severityFilter, Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+        response.put("count", alerts.size());
+        response.put("alerts", alerts);
+        response.put("bufferCapacity", recentAlertBuffer.capacity());
+        response.put("totalRecorded", recentAlertBuffer.totalWritten());
+        response.put("dictionary", recentAlertBuffer.dictionaryStats());
+
+        log.info("최근 알람 조회 요청 - 토픽: {}, 위험도: {}, 결과: {}건", topic, severity, alerts.size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 과부하 차단 상태와 생략된 알람 집계 (단계, 컨슈머 랙, 발송 대기 건수, 위험도별 생략 건수)
+     */
+    @GetMapping("/shedding")
+    public ResponseEntity<Map<String, Object>> shedding() {
+        log.info("알람 부하 차단 상태 요청 수신");
+        return ResponseEntity.ok(loadSheddingService.stats());
+    }
+
+    /**
+     * 토픽별 상위 clientIp / principal (Count-Min Sketch + Space-Saving, 오차 범위 포함)
+     * @param topic     resource-level-false 또는 certified-2time 토픽 이름
+     * @param key       clientIp 또는 principal
+     * @param window    current (현재 창) 또는 previous (직전 창)
+     */
+    @GetMapping("/top")
+    public ResponseEntity<Map<String, Object>> top(
+            @RequestParam String topic,
+            @RequestParam(defaultValue = HeavyHitterService.CLIENT_IP) String key,
+            @RequestParam(defaultValue = "current") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (!HeavyHitterService.CLIENT_IP.equals(key) && !HeavyHitterService.PRINCIPAL.equals(key)) {
+            response.put("status", "ERROR");
+            response.put("message", "key 는 clientIp 또는 principal 이어야 합니다: " + key);
+            return ResponseEntity.badRequest().body(response);
+        }
+        if (!"current".equals(window) && !"previous".equals(window)) {
+            response.put("status", "ERROR");
+            response.put("message", "window 는 current 또는 previous 이어야 합니다: " + window);
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        Map<String, Object> top = heavyHitterService.top(topic, key, "previous".equals(window),
+                Math.max(1, Math.min(limit, MAX_TOP_LIMIT)));
+        if (top == null) {
+            response.put("status", "ERROR");
+            response.put("message", "집계된 이벤트가 없는 토픽입니다: " + topic);
+            response.put("trackedTopics", heavyHitterService.trackedTopics());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        response.put("topic", topic);
+        response.putAll(top);
+        log.info("상위 빈도 조회 요청 - 토픽: {}, 키: {}, 창: {}", topic, key, window);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 시스템 보안 알람 확인 - 재알림 중지
+     * 재알림이 이 인스턴스에 대기 중이면 바로 중지하고(200), 다른 인스턴스 소유면 확인 기록을 남겨
+     * 소유 인스턴스가 중지하도록 한다(202)
+     * 재알림을 멈추는 요청이므로 AdminAuthInterceptor 토큰 인증을 거친다
+     * @param by 확인자 (선택)
+     */
+    @PostMapping("/{eventId}/ack")
+    public ResponseEntity<Map<String, Object>> acknowledge(
+            @PathVariable String eventId,
+            @RequestParam(defaultValue = "unknown") String by) {
+        Map<String, Object> response = new HashMap<>();
+
+        Map<String, Object> acknowledged;
+        try {
+            acknowledged = escalationService.acknowledge(eventId, by);
+        } catch (IllegalStateException e) {
+            response.put("status", "ERROR");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        if (acknowledged == null) {
+            response.put("status", "ERROR");
+            response.put("message", "이 인스턴스에 대기 중인 재알림이 없고 확인 기록 토픽을 사용할 수 없습니다: " + eventId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        response.putAll(acknowledged);
+        log.info("알람 확인 요청 - ID: {}, 확인자: {}, 결과: {}", eventId, by, acknowledged.get("status"));
+        return "FORWARDED".equals(acknowledged.get("status"))
+                ? ResponseEntity.status(HttpStatus.ACCEPTED).body(response)
+                : ResponseEntity.ok(response);
+    }
+
+    /**
+     * 확인 대기 중인 재알림 목록 (다음 재알림 시각순)
+     */
+    @GetMapping("/escalations")
+    public ResponseEntity<Map<String, Object>> escalations(@RequestParam(defaultValue = "50") int limit) {
+        List<Map<String, Object>> pending = escalationService.pending(Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+        Map<String, Object> response = new HashMap<>(escalationService.stats());
+        response.put("count", pending.size());
+        response.put("escalations", pending);
+
+        log.info("재알림 대기 목록 요청 - 결과: {}건", pending.size());
+        return ResponseEntity.ok(response);
+    }
+}
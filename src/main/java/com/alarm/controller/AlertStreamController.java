@@ -0,0 +1,78 @@
+package com.alarm.controller;
+
+import com.alarm.service.AlertSeverity;
+import com.alarm.service.AlertStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+public class AlertStreamController {
+
+    private final AlertStreamService alertStreamService;
+
+    /**
+     * 처리된 알람 실시간 스트림 (Server-Sent Events)
+     * 이벤트: alert (알람 JSON, id = 순번), skipped (느린 구독자가 건너뛴 건수)
+     * @param topic    토픽 이름 필터, 쉼표로 여러 개 (선택)
+     * @param severity 위험도 필터, 쉼표로 여러 개 - HIGH, MEDIUM, MONITOR, LOW, NORMAL (선택)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) String topic,
+            @RequestParam(required = false) String severity,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Set<String> topics = new HashSet<>();
+        if (topic != null) {
+            for (String name : topic.split(",")) {
+                if (!name.isBlank()) {
+                    topics.add(name.trim());
+                }
+            }
+        }
+
+        Set<AlertSeverity> severities = EnumSet.noneOf(AlertSeverity.class);
+        if (severity != null) {
+            for (String name : severity.split(",")) {
+                if (name.isBlank()) {
+                    continue;
+                }
+                try {
+                    severities.add(AlertSeverity.valueOf(name.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "알 수 없는 위험도: " + name);
+                }
+            }
+        }
+
+        Long resumeFrom = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeFrom = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                log.warn("잘못된 Last-Event-ID 무시: {}", lastEventId);
+            }
+        }
+
+        SseEmitter emitter = alertStreamService.subscribe(topics, severities, resumeFrom);
+        if (emitter == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "실시간 알람 구독자 수가 최대치에 도달했습니다");
+        }
+        return emitter;
+    }
+}
@@ -1,5 +1,14 @@
 package com.alarm.controller;
 
+import com.alarm.service.AdaptiveConcurrencyLimiter;
+import com.alarm.service.AlertStreamService;
+import com.alarm.service.EscalationService;
+import com.alarm.service.GeoIpService;
+import com.alarm.service.IpListService;
+import com.alarm.service.LoadSheddingService;
+import com.alarm.service.RuntimeControlService;
+import com.alarm.service.WebhookNotifier;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -15,8 +24,18 @@ import java.util.Map;
 @Slf4j
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final AdaptiveConcurrencyLimiter smtpLimiter;
+    private final LoadSheddingService loadSheddingService;
+    private final GeoIpService geoIpService;
+    private final IpListService ipListService;
+    private final AlertStreamService alertStreamService;
+    private final EscalationService escalationService;
+    private final RuntimeControlService runtimeControlService;
+    private final WebhookNotifier webhookNotifier;
+
     @Value("${KAFKA_BOOTSTRAP_SERVERS}")
     private String kafkaBootstrapServers;
 
@@ -33,6 +52,14 @@ public class HealthController {
         response.put("service", "Alarm Server");
         response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         response.put("port", "8081");
+        response.put("smtpConcurrency", smtpLimiter.stats());
+        response.put("webhook", webhookNotifier.stats());
+        response.put("loadSheddingLevel", loadSheddingService.level());
+        response.put("geoIp", geoIpService.stats());
+        response.put("ipLists", ipListService.stats());
+        response.put("alertStream", alertStreamService.stats());
+        response.put("escalation", escalationService.stats());
+        response.put("runtimeControl", runtimeControlService.stats());
         
         log.info("헬스체크 요청 수신");
         return ResponseEntity.ok(response);
@@ -1,6 +1,7 @@
 package com.alarm.controller;
 
 import com.alarm.service.EmailService;
+import com.alarm.service.LoadGeneratorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -22,6 +23,7 @@ public class TestController {
 
     private final EmailService emailService;
     private final JavaMailSender mailSender;
+    private final LoadGeneratorService loadGeneratorService;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
@@ -129,7 +131,7 @@ public class TestController {
         response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         
         try {
-            emailService.sendResourceLevelAlert("resource-level-false", testMessage);
+            emailService.sendResourceLevelAlert("resource-level-false", testMessage, null);
             
             response.put("status", "SUCCESS");
             response.put("message", "리소스/사용자 레벨 보안 알람 테스트 발송 완료");
@@ -180,7 +182,7 @@ public class TestController {
         response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         
         try {
-            emailService.sendSystemLevelAlert("system-level-false", testMessage);
+            emailService.sendSystemLevelAlert("system-level-false", testMessage, null);
             
             response.put("status", "SUCCESS");
             response.put("message", "시스템 레벨 보안 알람 테스트 발송 완료");
@@ -201,4 +203,53 @@ public class TestController {
             return ResponseEntity.status(500).body(response);
         }
     }
+
+    /**
+     * 합성 부하 테스트 시작 (AdminAuthInterceptor 토큰 인증)
+     * 4개 토픽 스키마의 무작위 이벤트를 목표 속도로 생성해 컨슈머 처리 경로에 주입하고, 메일은 스텁 발송기로 보낸다 (실제 메일 미발송)
+     */
+    @PostMapping("/load")
+    public ResponseEntity<Map<String, Object>> startLoadTest(
+            @RequestParam(defaultValue = "100") int rate,
+            @RequestParam(defaultValue = "30") int durationSeconds,
+            @RequestParam(defaultValue = "8") int workers,
+            @RequestParam(defaultValue = "50") long stubLatencyMs,
+            @RequestParam(defaultValue = "0.0") double stubErrorRate) {
+        log.info("🧪 부하 테스트 요청 - 목표: {}건/초, 기간: {}초", rate, durationSeconds);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+
+        try {
+            response.put("status", "SUCCESS");
+            response.put("result", loadGeneratorService.start(rate, durationSeconds, workers, stubLatencyMs, stubErrorRate));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("status", "ERROR");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IllegalStateException e) {
+            response.put("status", "ERROR");
+            response.put("message", e.getMessage());
+            response.put("result", loadGeneratorService.status());
+            return ResponseEntity.status(409).body(response);
+        }
+    }
+
+    /**
+     * 부하 테스트 진행 상황 조회 (처리량, 지연시간 백분위, 오류 건수)
+     */
+    @GetMapping("/load")
+    public ResponseEntity<Map<String, Object>> loadTestStatus() {
+        return ResponseEntity.ok(loadGeneratorService.status());
+    }
+
+    /**
+     * 실행 중인 부하 테스트 중단
+     */
+    @DeleteMapping("/load")
+    public ResponseEntity<Map<String, Object>> stopLoadTest() {
+        log.info("🧪 부하 테스트 중단 요청");
+        return ResponseEntity.ok(loadGeneratorService.stop());
+    }
 }
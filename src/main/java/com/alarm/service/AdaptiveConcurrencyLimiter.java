@@ -0,0 +1,195 @@
+package com.alarm.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SMTP 발송 동시성 적응형 제한기 (AIMD + 지연시간 기울기)
+ * - 성공 시 단기 RTT 가 장기 RTT 대비 허용 배수 이내면 한도를 천천히 늘린다 (+1 / 한도 만큼의 성공)
+ * - 단기 RTT 가 허용 배수를 넘으면 한도를 10% 줄인다
+ * - 발송 실패(연결 거부, 타임아웃 등) 시 한도를 절반으로 줄인다 (RTT 한 주기에 한 번만)
+ */
+@Slf4j
+@Service
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_RTT_ALPHA = 0.2;
+    private static final double LONG_RTT_ALPHA = 0.02;
+    private static final double QUEUE_DELAY_ALPHA = 0.2;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition slotAvailable = lock.newCondition();
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+
+    @Value("${ALARM_SMTP_LIMIT_INITIAL:4}")
+    private int initialLimit;
+
+    @Value("${ALARM_SMTP_LIMIT_MIN:1}")
+    private int minLimit;
+
+    // 운영 중 변경 가능 (lock 으로 보호)
+    @Value("${ALARM_SMTP_LIMIT_MAX:16}")
+    private int maxLimit;
+
+    // 단기 RTT 가 장기 RTT 의 몇 배까지 정상으로 볼지
+    @Value("${ALARM_SMTP_LIMIT_RTT_TOLERANCE:2.0}")
+    private double rttTolerance;
+
+    // lock 으로 보호
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double shortRttNanos;
+    private double longRttNanos;
+    private double queueDelayNanos;
+    private long lastQueueDelayNanos;
+    private long lastDecreaseNanos;
+
+    @PostConstruct
+    void init() {
+        limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        log.info("SMTP 적응형 동시성 제한 - 초기: {}, 최소: {}, 최대: {}", (int) limit, minLimit, maxLimit);
+    }
+
+    /**
+     * 발송 슬롯 획득 (한도에 도달하면 대기)
+     * @return 획득 시각 (release 에 전달)
+     */
+    public long acquire() throws InterruptedException {
+        long requested = System.nanoTime();
+        lock.lockInterruptibly();
+        try {
+            waiting++;
+            try {
+                while (inFlight >= (int) limit) {
+                    slotAvailable.await();
+                }
+            } finally {
+                waiting--;
+            }
+            inFlight++;
+            long acquired = System.nanoTime();
+            lastQueueDelayNanos = acquired - requested;
+            queueDelayNanos += QUEUE_DELAY_ALPHA * (lastQueueDelayNanos - queueDelayNanos);
+            return acquired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 발송 결과 반영 후 슬롯 반납
+     */
+    public void release(long acquiredNanos, boolean success) {
+        long now = System.nanoTime();
+        long rtt = now - acquiredNanos;
+        lock.lock();
+        try {
+            int inFlightBefore = inFlight;
+            inFlight--;
+            double previousLimit = limit;
+
+            if (success) {
+                successCount.incrementAndGet();
+                onSuccess(rtt, inFlightBefore);
+            } else {
+                failureCount.incrementAndGet();
+                onFailure(now);
+            }
+
+            if ((int) limit != (int) previousLimit) {
+                log.info("SMTP 동시성 한도 변경: {} -> {} (RTT 단기 {}ms / 장기 {}ms, 실패: {})",
+                        (int) previousLimit, (int) limit,
+                        Math.round(shortRttNanos / 1e6), Math.round(longRttNanos / 1e6), !success);
+            }
+            slotAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(long rtt, int inFlightBefore) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rtt;
+            longRttNanos = rtt;
+        } else {
+            shortRttNanos += SHORT_RTT_ALPHA * (rtt - shortRttNanos);
+            longRttNanos += LONG_RTT_ALPHA * (rtt - longRttNanos);
+        }
+
+        if (longRttNanos > shortRttNanos * rttTolerance) {
+            // 지연이 크게 줄어든 뒤 - 장기 RTT 가 예전 고지연 기준에 오래 머물지 않도록 빠르게 끌어내린다
+            longRttNanos *= 0.95;
+        }
+
+        if (shortRttNanos > longRttNanos * rttTolerance) {
+            // 릴레이 지연 증가 - 줄인다. 지연이 높은 채로 안정되면 장기 RTT 가 따라 올라가 다시 상향 탐색한다
+            limit = Math.max(minLimit, limit * 0.9);
+        } else if (inFlightBefore >= limit / 2) {
+            // 실제 수요가 있을 때만 상향 탐색
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    private void onFailure(long now) {
+        // 동시에 실패한 요청들로 한도가 한꺼번에 무너지지 않도록 RTT 한 주기에 한 번만 감소
+        long cooldown = (long) Math.max(shortRttNanos, 100_000_000L);
+        if (lastDecreaseNanos == 0 || now - lastDecreaseNanos >= cooldown) {
+            limit = Math.max(minLimit, limit * 0.5);
+            lastDecreaseNanos = now;
+        }
+    }
+
+    /**
+     * 최대 한도 변경 (현재 한도가 새 최대치보다 크면 바로 낮추고, 늘린 경우는 성공 시 천천히 올라간다)
+     * @return 이전 최대 한도
+     */
+    public int updateMaxLimit(int newMaxLimit) {
+        lock.lock();
+        try {
+            if (newMaxLimit < minLimit) {
+                throw new IllegalArgumentException("최대 한도는 최소 한도(" + minLimit + ") 이상이어야 합니다: " + newMaxLimit);
+            }
+            int previousMax = maxLimit;
+            maxLimit = newMaxLimit;
+            limit = Math.min(limit, maxLimit);
+            slotAvailable.signalAll();
+            return previousMax;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 한도, 진행/대기 건수, 대기 지연시간, RTT
+     */
+    public Map<String, Object> stats() {
+        lock.lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("limit", (int) limit);
+            stats.put("minLimit", minLimit);
+            stats.put("maxLimit", maxLimit);
+            stats.put("inFlight", inFlight);
+            stats.put("waiting", waiting);
+            stats.put("queueDelayMs", Math.round(queueDelayNanos / 1e5) / 10.0);
+            stats.put("lastQueueDelayMs", Math.round(lastQueueDelayNanos / 1e5) / 10.0);
+            stats.put("shortRttMs", Math.round(shortRttNanos / 1e5) / 10.0);
+            stats.put("longRttMs", Math.round(longRttNanos / 1e5) / 10.0);
+            stats.put("successes", successCount.get());
+            stats.put("failures", failureCount.get());
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
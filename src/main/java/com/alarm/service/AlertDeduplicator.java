@@ -0,0 +1,67 @@
+package com.alarm.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이벤트 ID 기반 중복 알람 방지
+ * 발송을 마친 이벤트 ID 를 PartitionStateStore 에 기록해 두었다가, 재시작이나 파티션 이동 후
+ * 같은 레코드가 다시 전달되어도(커밋 전 발송 완료분) 알람을 다시 보내지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertDeduplicator {
+
+    private static final String KEY_PREFIX = "dispatched:";
+
+    private final PartitionStateStore stateStore;
+
+    @Value("${ALARM_DEDUP_TTL_MS:3600000}")
+    private long ttlMillis;
+
+    public boolean isDuplicate(String topic, int partition, String eventId) {
+        return eventId != null && stateStore.get(topic, partition, KEY_PREFIX + eventId) != null;
+    }
+
+    public void markDispatched(String topic, int partition, String eventId) {
+        if (eventId != null) {
+            stateStore.put(topic, partition, KEY_PREFIX + eventId, Long.toString(System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * TTL 이 지난 기록 삭제 (변경 로그에는 tombstone 으로 기록)
+     */
+    @Scheduled(fixedDelayString = "${ALARM_DEDUP_SWEEP_INTERVAL_MS:60000}")
+    public void expire() {
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        stateStore.forEachPartition((topicPartition, state) -> {
+            List<String> expired = new ArrayList<>();
+            for (Map.Entry<String, String> entry : state.entrySet()) {
+                if (entry.getKey().startsWith(KEY_PREFIX) && parseMillis(entry.getValue()) < cutoff) {
+                    expired.add(entry.getKey());
+                }
+            }
+            expired.forEach(key -> stateStore.delete(topicPartition.topic(), topicPartition.partition(), key));
+            if (!expired.isEmpty()) {
+                log.debug("중복 방지 기록 만료: {} - {}건", topicPartition, expired.size());
+            }
+        });
+    }
+
+    private static long parseMillis(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
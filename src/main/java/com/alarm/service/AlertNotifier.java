@@ -0,0 +1,26 @@
+package com.alarm.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 알람 발송 채널 (이메일, 웹훅 등)
+ * 각 채널은 호출 스레드를 막지 않고 발송 완료 시점에 끝나는 CompletableFuture 를 반환해야 한다
+ */
+public interface AlertNotifier {
+
+    /**
+     * 채널 이름 (로그/상태 표시용)
+     */
+    String channelName();
+
+    /**
+     * 해당 알람 종류를 이 채널로 보내는지 여부
+     */
+    boolean supports(AlertType alertType);
+
+    /**
+     * 알람 발송. 실패는 예외가 아니라 실패한 future 로 전달한다
+     * @param ipMatch 컨슈머가 처리 결정에 사용한 IP 목록 대조 결과 (없으면 null) - 채널에서 다시 대조하지 않는다
+     */
+    CompletableFuture<Void> notify(AlertType alertType, String topicName, String messageData, IpListMatch ipMatch);
+}
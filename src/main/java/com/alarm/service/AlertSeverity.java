@@ -0,0 +1,62 @@
+package com.alarm.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 보안 이벤트 위험도
+ */
+public enum AlertSeverity {
+    HIGH("🚨 보안 위험도: 높음 (권한 거부된 관리자 작업)"),
+    MEDIUM("⚠️ 보안 위험도: 중간 (권한 거부된 수정 작업)"),
+    MONITOR("🔍 보안 위험도: 모니터링 필요 (관리자 작업 허용)"),
+    LOW("ℹ️ 보안 위험도: 낮음 (권한 거부된 조회 작업)"),
+    NORMAL("✅ 보안 위험도: 정상 (일반 작업 허용)");
+
+    private final String riskLevelLabel;
+
+    AlertSeverity(String riskLevelLabel) {
+        this.riskLevelLabel = riskLevelLabel;
+    }
+
+    /**
+     * 리소스 레벨 알람 메일에 표시되는 위험도 문구
+     */
+    public String getRiskLevelLabel() {
+        return riskLevelLabel;
+    }
+
+    /**
+     * 알람 종류와 이벤트 내용으로 위험도 판단
+     * 시스템 레벨, 인증 실패, 위치 변경 알람은 항상 높음
+     */
+    public static AlertSeverity classify(AlertType alertType, JsonNode event) {
+        if (alertType != AlertType.RESOURCE_LEVEL || event == null) {
+            return HIGH;
+        }
+
+        String operation = textOf(event, "operation");
+        String resourceType = textOf(event, "resourceType");
+        boolean granted = "true".equals(textOf(event, "granted"));
+
+        if (!granted) {
+            if (operation.equals("ADMIN") || resourceType.equals("SYSTEM")) {
+                return HIGH;
+            } else if (operation.equals("DELETE") || operation.equals("UPDATE")) {
+                return MEDIUM;
+            } else {
+                return LOW;
+            }
+        } else {
+            if (operation.equals("ADMIN") || resourceType.equals("SYSTEM")) {
+                return MONITOR;
+            } else {
+                return NORMAL;
+            }
+        }
+    }
+
+    private static String textOf(JsonNode event, String fieldName) {
+        JsonNode node = event.get(fieldName);
+        return node != null ? node.asText() : "";
+    }
+}
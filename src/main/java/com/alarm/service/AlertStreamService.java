@@ -0,0 +1,399 @@
+package com.alarm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 처리된 알람을 SSE 로 실시간 전달
+ * - 컨슈머는 고정 크기 링 버퍼에 이벤트를 넣기만 하고 바로 돌아간다 (구독자 수와 무관)
+ * - 구독자마다 읽은 위치(cursor)만 가지고, 별도 발송 스레드가 각 구독자의 위치부터 새 이벤트를 보낸다
+ * - 링 버퍼에서 이미 덮어쓰인 구간까지 밀린 구독자는 최신 구간으로 건너뛰고 skipped 이벤트로 알린다
+ * - 한 번의 발송이 제한 시간을 넘게 막혀 있는 구독자는 연결을 끊고, 막힌 발송 스레드는 공유 풀에서 빼고 한 개를 보충한다
+ *   (막힌 스레드는 인터럽트하고, 늦어도 서블릿 컨테이너의 쓰기 제한 시간(server.tomcat.connection-timeout)에 풀려난다)
+ * 힙 사용량은 링 버퍼 크기와 구독자 수로 고정된다.
+ */
+@Slf4j
+@Service
+public class AlertStreamService {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.of("Asia/Seoul"));
+    private static final int MAX_BATCH = 256;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger threadIndex = new AtomicInteger();
+    private final AtomicLong skippedTotal = new AtomicLong();
+    private final AtomicLong droppedTotal = new AtomicLong();
+    private final AtomicLong abandonedTotal = new AtomicLong();
+    private final AtomicInteger stalledSenders = new AtomicInteger();
+
+    @Value("${ALARM_STREAM_BUFFER_SIZE:4096}")
+    private int bufferSize;
+
+    @Value("${ALARM_STREAM_MAX_SUBSCRIBERS:500}")
+    private int maxSubscribers;
+
+    @Value("${ALARM_STREAM_SENDER_THREADS:4}")
+    private int senderThreads;
+
+    @Value("${ALARM_STREAM_SLOW_CLIENT_MS:5000}")
+    private long slowClientMs;
+
+    @Value("${ALARM_STREAM_TIMEOUT_MS:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${ALARM_STREAM_HEARTBEAT_MS:15000}")
+    private long heartbeatMs;
+
+    private StreamedAlert[] ring;
+    private int mask;
+    private volatile long published;
+    private ScheduledExecutorService ticker;
+    private ThreadPoolExecutor senders;
+
+    @PostConstruct
+    void init() {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        ring = new StreamedAlert[capacity];
+        mask = capacity - 1;
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "alert-stream-sender-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "alert-stream-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::fanOut, 100, 100, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        log.info("실시간 알람 스트림 준비 - 링 버퍼 {}건, 최대 구독자 {}", capacity, maxSubscribers);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * 처리된 알람 게시 (잠금 구간은 배열 한 칸 기록뿐이라 컨슈머를 막지 않는다)
+     *
+     * @param disposition 처리 결과 - DISPATCHED, SUPPRESSED, SHED
+     */
+    public void publish(String topic, int partition, long offset, AlertType alertType, AlertSeverity severity,
+                        String eventId, String clientIp, String principal, String operation, String disposition) {
+        long timestamp = System.currentTimeMillis();
+        // 네 개의 리스너 스레드가 하나의 생산자로 동작하도록 기록 순서만 직렬화한다
+        synchronized (this) {
+            long sequence = published + 1;
+            ring[(int) (sequence & mask)] = new StreamedAlert(sequence, topic, partition, offset, alertType, severity,
+                    eventId, clientIp, principal, operation, disposition, timestamp);
+            published = sequence;
+        }
+    }
+
+    /**
+     * 구독 등록
+     *
+     * @param topics      토픽 필터 (비어 있으면 전체)
+     * @param severities  위험도 필터 (비어 있으면 전체)
+     * @param lastEventId 재연결 시 마지막으로 받은 이벤트 ID (버퍼에 남아 있으면 그 다음부터 전송)
+     * @return 구독자 수 제한에 걸리면 null
+     */
+    public SseEmitter subscribe(Set<String> topics, Set<AlertSeverity> severities, Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        long head = published;
+        long cursor = lastEventId != null && lastEventId <= head ? lastEventId : head;
+        Subscriber subscriber = new Subscriber(emitter, topics, severities, cursor);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.info("📡 실시간 알람 구독 시작 - 토픽: {}, 위험도: {}, 구독자: {}명", topics, severities, subscribers.size());
+        return emitter;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("maxSubscribers", maxSubscribers);
+        stats.put("published", published);
+        stats.put("bufferSize", ring.length);
+        stats.put("skippedEvents", skippedTotal.get());
+        stats.put("droppedSubscribers", droppedTotal.get());
+        stats.put("abandonedSends", abandonedTotal.get());
+        stats.put("stalledSenders", stalledSenders.get());
+        stats.put("senderThreads", senders.getCorePoolSize());
+        return stats;
+    }
+
+    /**
+     * 새 이벤트가 있는 구독자마다 발송 작업을 맡긴다. 이전 발송이 끝나지 않은 구독자는 건너뛰고,
+     * 발송 스레드를 잡은 채 제한 시간 넘게 막혀 있으면 연결을 끊고 그 스레드를 포기한다
+     */
+    private void fanOut() {
+        long head = published;
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.busy.get()) {
+                // 큐에서 순서를 기다리는 동안은 구독자 탓이 아니므로 실제 발송이 시작된 뒤부터 잰다
+                if (subscriber.sender != null && now - subscriber.busySince > slowClientMs) {
+                    abandon(subscriber, now - subscriber.busySince);
+                }
+                continue;
+            }
+            if (subscriber.cursor < head && subscriber.busy.compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        begin(subscriber);
+        try {
+            long head = published;
+            long next = subscriber.cursor + 1;
+            int sent = 0;
+            while (next <= head && sent < MAX_BATCH && !subscriber.closed) {
+                long oldest = head - ring.length + 1;
+                if (next < oldest) {
+                    // 버퍼가 한 바퀴 넘게 앞서 나감 - 남아 있는 가장 오래된 이벤트로 건너뛴다
+                    long skipped = oldest - next;
+                    skippedTotal.addAndGet(skipped);
+                    subscriber.emitter.send(SseEmitter.event().name("skipped")
+                            .data(Map.of("skipped", skipped), MediaType.APPLICATION_JSON));
+                    next = oldest;
+                }
+                StreamedAlert alert = ring[(int) (next & mask)];
+                if (alert == null || alert.sequence != next) {
+                    // 읽는 사이 덮어쓰임 - 최신 위치 기준으로 다시 계산
+                    head = published;
+                    if (next < head - ring.length + 1) {
+                        continue;
+                    }
+                    break;
+                }
+                if (subscriber.accepts(alert)) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(alert.sequence))
+                            .name("alert")
+                            .data(alert.json(objectMapper), MediaType.APPLICATION_JSON));
+                    sent++;
+                }
+                subscriber.cursor = next;
+                next++;
+            }
+        } catch (Exception e) {
+            drop(subscriber, e.getMessage());
+        } finally {
+            release(subscriber);
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.busy.compareAndSet(false, true)) {
+                continue;
+            }
+            senders.execute(() -> {
+                begin(subscriber);
+                try {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (Exception e) {
+                    drop(subscriber, e.getMessage());
+                } finally {
+                    release(subscriber);
+                }
+            });
+        }
+    }
+
+    /**
+     * 구독 해제. 연결 종료는 발송 중인 스레드가 끝난 뒤 그 스레드에서 처리한다
+     * (막힌 발송이 emitter 잠금을 쥐고 있으므로 다른 스레드에서 종료하면 함께 막힌다)
+     */
+    private void drop(Subscriber subscriber, String reason) {
+        subscriber.closed = true;
+        if (subscribers.remove(subscriber)) {
+            droppedTotal.incrementAndGet();
+            log.info("📴 실시간 알람 구독 종료 - 사유: {}, 남은 구독자: {}명", reason, subscribers.size());
+        }
+    }
+
+    /**
+     * 막힌 발송을 포기한다 - 구독을 끊고, 발송 스레드를 인터럽트하고, 공유 풀에 스레드 한 개를 보충한다.
+     * 포기한 스레드는 막힌 쓰기가 끝나면(늦어도 컨테이너 쓰기 제한 시간) release 에서 풀 크기를 되돌리고 종료된다
+     */
+    private void abandon(Subscriber subscriber, long stalledMs) {
+        drop(subscriber, "발송 지연 " + stalledMs + "ms");
+        synchronized (subscriber) {
+            Thread sender = subscriber.sender;
+            if (sender == null || subscriber.abandoned) {
+                return; // 이미 발송이 끝났거나 포기한 상태
+            }
+            subscriber.abandoned = true;
+            abandonedTotal.incrementAndGet();
+            resizeSenders(stalledSenders.incrementAndGet());
+            sender.interrupt();
+        }
+    }
+
+    private void begin(Subscriber subscriber) {
+        synchronized (subscriber) {
+            subscriber.busySince = System.currentTimeMillis();
+            subscriber.sender = Thread.currentThread();
+        }
+    }
+
+    private void release(Subscriber subscriber) {
+        synchronized (subscriber) {
+            subscriber.sender = null;
+            if (subscriber.abandoned) {
+                subscriber.abandoned = false;
+                resizeSenders(stalledSenders.decrementAndGet());
+                log.info("📴 막혀 있던 실시간 알람 발송 스레드 반환 - 남은 지연 스레드: {}개", stalledSenders.get());
+            }
+        }
+        if (subscriber.closed) {
+            try {
+                subscriber.emitter.complete();
+            } catch (Exception ignored) {
+                // 이미 끊어진 연결
+            }
+        }
+        subscriber.busy.set(false);
+    }
+
+    /**
+     * 막힌 스레드 수만큼 풀을 늘려 정상 구독자에게는 항상 senderThreads 개의 스레드가 남도록 한다
+     */
+    private void resizeSenders(int stalled) {
+        int size = senderThreads + Math.max(0, stalled);
+        // publish 가 쓰는 this 잠금과 겹치지 않도록 풀 자체로 동기화 (core 는 max 보다 클 수 없다)
+        synchronized (senders) {
+            if (size > senders.getMaximumPoolSize()) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<String> topics;
+        private final Set<AlertSeverity> severities;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile long cursor;
+        private volatile long busySince;
+        private volatile Thread sender;
+        private boolean abandoned;
+
+        Subscriber(SseEmitter emitter, Set<String> topics, Set<AlertSeverity> severities, long cursor) {
+            this.emitter = emitter;
+            this.topics = topics;
+            this.severities = severities;
+            this.cursor = cursor;
+        }
+
+        boolean accepts(StreamedAlert alert) {
+            return (topics.isEmpty() || topics.contains(alert.topic))
+                    && (severities.isEmpty() || severities.contains(alert.severity));
+        }
+    }
+
+    /**
+     * 링 버퍼의 한 칸. JSON 은 처음 보낼 때 한 번만 만들어 모든 구독자가 공유한다
+     */
+    private static final class StreamedAlert {
+
+        private final String topic;
+        private final int partition;
+        private final long offset;
+        private final AlertType alertType;
+        private final AlertSeverity severity;
+        private final String eventId;
+        private final String clientIp;
+        private final String principal;
+        private final String operation;
+        private final String disposition;
+        private final long timestamp;
+        private final long sequence;
+        private volatile String json;
+
+        StreamedAlert(long sequence, String topic, int partition, long offset, AlertType alertType, AlertSeverity severity,
+                      String eventId, String clientIp, String principal, String operation, String disposition,
+                      long timestamp) {
+            this.sequence = sequence;
+            this.topic = topic;
+            this.partition = partition;
+            this.offset = offset;
+            this.alertType = alertType;
+            this.severity = severity;
+            this.eventId = eventId;
+            this.clientIp = clientIp;
+            this.principal = principal;
+            this.operation = operation;
+            this.disposition = disposition;
+            this.timestamp = timestamp;
+        }
+
+        String json(ObjectMapper objectMapper) throws Exception {
+            String value = json;
+            if (value == null) {
+                Map<String, Object> alert = new LinkedHashMap<>();
+                alert.put("sequence", sequence);
+                alert.put("time", TIME_FORMAT.format(Instant.ofEpochMilli(timestamp)));
+                alert.put("topic", topic);
+                alert.put("partition", partition);
+                alert.put("offset", offset);
+                alert.put("alertType", alertType.name());
+                alert.put("severity", severity.name());
+                alert.put("disposition", disposition);
+                alert.put("eventId", eventId);
+                alert.put("clientIp", clientIp);
+                alert.put("principal", principal);
+                alert.put("operation", operation);
+                value = objectMapper.writeValueAsString(alert);
+                json = value;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.alarm.service;
+
+/**
+ * 구독 토픽별 알람 종류
+ */
+public enum AlertType {
+    SYSTEM_LEVEL,     // system-level-false
+    RESOURCE_LEVEL,   // resource-level-false
+    AUTH_FAILURE,     // certified-2time
+    LOCATION_CHANGE   // certified-notMove
+}
@@ -0,0 +1,292 @@
+package com.alarm.service;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+
+/**
+ * IPv4/IPv6 CIDR 최장 접두사 일치 검색용 경로 압축 이진 트라이 (primitive 배열 기반)
+ * - IPv4 는 IPv4-mapped IPv6(::ffff:a.b.c.d) 로 바꿔 하나의 128비트 트라이에 저장한다
+ * - 값이 없고 자식이 하나뿐인 노드는 만들지 않아서(루트 제외), 노드 수는 항목 수의 2배 + 1 을 넘지 않는다
+ * - 조회는 항목 수와 관계없이 최대 129 단계이며, 할당 없이 배열만 읽는다
+ * 생성 후에는 변경되지 않으므로 잠금 없이 여러 스레드에서 조회할 수 있다.
+ */
+final class CidrTrie {
+
+    static final int NO_MATCH = -1;
+
+    private static final long IPV4_MAPPED_LO = 0x0000FFFF00000000L;
+
+    // 압축 노드: 노드가 나타내는 전체 접두사(prefixHi/prefixLo)와 길이(depth)
+    private final long[] prefixHi;
+    private final long[] prefixLo;
+    private final byte[] depth;
+    private final int[] children;
+    private final int[] values;
+    private final int size;
+
+    private CidrTrie(long[] prefixHi, long[] prefixLo, byte[] depth, int[] children, int[] values, int size) {
+        this.prefixHi = prefixHi;
+        this.prefixLo = prefixLo;
+        this.depth = depth;
+        this.children = children;
+        this.values = values;
+        this.size = size;
+    }
+
+    int nodeCount() {
+        return size;
+    }
+
+    /**
+     * 주소를 포함하는 가장 긴 CIDR 의 노드 (없으면 NO_MATCH)
+     */
+    int lookup(long hi, long lo) {
+        int best = NO_MATCH;
+        int node = 0;
+        while (size > 0) {
+            int nodeDepth = Byte.toUnsignedInt(depth[node]);
+            if (!matches(hi, lo, prefixHi[node], prefixLo[node], nodeDepth)) {
+                break;
+            }
+            if (values[node] != NO_MATCH) {
+                best = node;
+            }
+            if (nodeDepth == 128) {
+                break;
+            }
+            int next = children[node * 2 + bit(hi, lo, nodeDepth)];
+            if (next < 0) {
+                break;
+            }
+            node = next;
+        }
+        return best;
+    }
+
+    int value(int node) {
+        return values[node];
+    }
+
+    /**
+     * 노드의 CIDR 표기 (일치 결과 표시용)
+     */
+    String cidr(int node) {
+        return format(prefixHi[node], prefixLo[node], Byte.toUnsignedInt(depth[node]));
+    }
+
+    private static String format(long hi, long lo, int prefixLength) {
+        if (hi == 0 && (lo & 0xFFFFFFFF00000000L) == IPV4_MAPPED_LO && prefixLength >= 96) {
+            int v4 = (int) lo;
+            return (v4 >>> 24) + "." + ((v4 >>> 16) & 0xFF) + "." + ((v4 >>> 8) & 0xFF) + "." + (v4 & 0xFF)
+                    + "/" + (prefixLength - 96);
+        }
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (hi >>> (56 - i * 8));
+            bytes[i + 8] = (byte) (lo >>> (56 - i * 8));
+        }
+        try {
+            return InetAddress.getByAddress(bytes).getHostAddress() + "/" + prefixLength;
+        } catch (Exception e) {
+            return Long.toHexString(hi) + Long.toHexString(lo) + "/" + prefixLength;
+        }
+    }
+
+    /**
+     * IP 주소 문자열을 128비트(hi, lo)로 변환. IPv4 는 IPv4-mapped 형태로 바꾼다
+     * 숫자/16진수/콜론/점 이외의 문자가 있으면 DNS 조회를 피하기 위해 바로 null
+     */
+    static long[] parseAddress(String ip) {
+        if (ip == null) {
+            return null;
+        }
+        String value = ip.trim();
+        if (value.startsWith("/")) {
+            value = value.substring(1);
+        }
+        if (value.isEmpty()) {
+            return null;
+        }
+        Integer v4 = GeoIpDatabase.parseIpv4(value);
+        if (v4 != null) {
+            return new long[]{0, IPV4_MAPPED_LO | Integer.toUnsignedLong(v4)};
+        }
+        if (value.indexOf(':') < 0) {
+            return null;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.digit(c, 16) < 0 && c != ':' && c != '.') {
+                return null;
+            }
+        }
+        try {
+            byte[] bytes = InetAddress.getByName(value).getAddress();
+            if (bytes.length == 4) {
+                return new long[]{0, IPV4_MAPPED_LO | Integer.toUnsignedLong(
+                        ((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) | ((bytes[2] & 0xFF) << 8) | (bytes[3] & 0xFF))};
+            }
+            long hi = 0;
+            long lo = 0;
+            for (int i = 0; i < 8; i++) {
+                hi = (hi << 8) | (bytes[i] & 0xFF);
+                lo = (lo << 8) | (bytes[i + 8] & 0xFF);
+            }
+            return new long[]{hi, lo};
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(long hi, long lo, long prefixHi, long prefixLo, int prefixLength) {
+        if (prefixLength <= 64) {
+            return (hi & mask(prefixLength)) == prefixHi;
+        }
+        return hi == prefixHi && (lo & mask(prefixLength - 64)) == prefixLo;
+    }
+
+    private static long mask(int bits) {
+        return bits == 0 ? 0 : -1L << (64 - bits);
+    }
+
+    private static int bit(long hi, long lo, int index) {
+        return index < 64 ? (int) (hi >>> (63 - index)) & 1 : (int) (lo >>> (127 - index)) & 1;
+    }
+
+    /**
+     * 공통 접두사 길이 (최대 limit 비트)
+     */
+    private static int commonPrefixLength(long hi, long lo, long otherHi, long otherLo, int limit) {
+        long diffHi = hi ^ otherHi;
+        int common = diffHi != 0
+                ? Long.numberOfLeadingZeros(diffHi)
+                : 64 + Long.numberOfLeadingZeros(lo ^ otherLo);
+        return Math.min(common, limit);
+    }
+
+    /**
+     * CIDR 을 경로 압축 트라이에 바로 삽입하고 build() 로 크기에 맞춘 트라이를 만든다
+     * 삽입 도중에도 비트 단위 노드를 만들지 않으므로 노드 수는 항목 수의 2배 + 1 을 넘지 않는다
+     * (루트는 항상 0번, 길이 0 의 접두사)
+     */
+    static final class Builder {
+
+        private long[] prefixHi = new long[64];
+        private long[] prefixLo = new long[64];
+        private byte[] depth = new byte[64];
+        private int[] children = new int[128];
+        private int[] values = new int[64];
+        private int size;
+        private int entries;
+
+        Builder() {
+            Arrays.fill(children, -1);
+            newNode(0L, 0L, 0, NO_MATCH);
+        }
+
+        int entries() {
+            return entries;
+        }
+
+        /**
+         * CIDR(예: 10.0.0.0/8, 2001:db8::/32, 단일 주소) 추가. 같은 CIDR 은 나중 값이 우선한다
+         * @return 형식이 올바르면 true
+         */
+        boolean add(String cidr, int value) {
+            int slash = cidr.indexOf('/');
+            long[] address = parseAddress(slash < 0 ? cidr : cidr.substring(0, slash));
+            if (address == null) {
+                return false;
+            }
+            boolean v4 = address[0] == 0 && (address[1] & 0xFFFFFFFF00000000L) == IPV4_MAPPED_LO
+                    && cidr.indexOf(':') < 0;
+            int prefixLength;
+            try {
+                int parsed = slash < 0 ? (v4 ? 32 : 128) : Integer.parseInt(cidr.substring(slash + 1).trim());
+                prefixLength = v4 ? parsed + 96 : parsed;
+                if (parsed < 0 || prefixLength > 128) {
+                    return false;
+                }
+            } catch (NumberFormatException e) {
+                return false;
+            }
+
+            // 접두사 길이 밖의 비트는 버린다 (10.1.2.3/8 -> 10.0.0.0/8)
+            long hi = address[0] & (prefixLength >= 64 ? -1L : mask(prefixLength));
+            long lo = prefixLength <= 64 ? 0L : address[1] & mask(prefixLength - 64);
+            insert(hi, lo, prefixLength, value);
+            entries++;
+            return true;
+        }
+
+        CidrTrie build() {
+            return new CidrTrie(Arrays.copyOf(prefixHi, size), Arrays.copyOf(prefixLo, size),
+                    Arrays.copyOf(depth, size), Arrays.copyOf(children, size * 2), Arrays.copyOf(values, size),
+                    size);
+        }
+
+        /**
+         * 루트에서부터 접두사를 따라 내려가다가, 기존 노드의 접두사와 갈라지는 지점에서 간선을 나눈다
+         */
+        private void insert(long hi, long lo, int prefixLength, int value) {
+            int slot = -1;
+            int node = 0;
+            while (true) {
+                int nodeDepth = Byte.toUnsignedInt(depth[node]);
+                int common = commonPrefixLength(hi, lo, prefixHi[node], prefixLo[node],
+                        Math.min(prefixLength, nodeDepth));
+                if (common == nodeDepth) {
+                    // 노드의 접두사가 새 CIDR 을 포함한다
+                    if (prefixLength == nodeDepth) {
+                        values[node] = value;
+                        return;
+                    }
+                    slot = node * 2 + bit(hi, lo, nodeDepth);
+                    if (children[slot] < 0) {
+                        // newNode() 가 배열을 늘릴 수 있으므로 먼저 만든 뒤 기록한다
+                        int leaf = newNode(hi, lo, prefixLength, value);
+                        children[slot] = leaf;
+                        return;
+                    }
+                    node = children[slot];
+                    continue;
+                }
+
+                // 루트(길이 0)는 모든 접두사를 포함하므로 여기까지 오면 slot 은 항상 부모의 자식 칸이다
+                int replacement;
+                if (common == prefixLength) {
+                    // 새 CIDR 이 기존 노드를 포함한다: 새 노드를 기존 노드의 부모로 끼워 넣는다
+                    replacement = newNode(hi, lo, prefixLength, value);
+                    children[replacement * 2 + bit(prefixHi[node], prefixLo[node], prefixLength)] = node;
+                } else {
+                    // 중간에서 갈라진다: 공통 접두사 노드 아래에 기존 노드와 새 노드를 둔다
+                    long commonHi = hi & (common >= 64 ? -1L : mask(common));
+                    long commonLo = common <= 64 ? 0L : lo & mask(common - 64);
+                    replacement = newNode(commonHi, commonLo, common, NO_MATCH);
+                    int leaf = newNode(hi, lo, prefixLength, value);
+                    children[replacement * 2 + bit(prefixHi[node], prefixLo[node], common)] = node;
+                    children[replacement * 2 + bit(hi, lo, common)] = leaf;
+                }
+                children[slot] = replacement;
+                return;
+            }
+        }
+
+        private int newNode(long hi, long lo, int nodeDepth, int value) {
+            if (size == values.length) {
+                int capacity = values.length * 2;
+                prefixHi = Arrays.copyOf(prefixHi, capacity);
+                prefixLo = Arrays.copyOf(prefixLo, capacity);
+                depth = Arrays.copyOf(depth, capacity);
+                values = Arrays.copyOf(values, capacity);
+                children = Arrays.copyOf(children, capacity * 2);
+                Arrays.fill(children, size * 2, capacity * 2, -1);
+            }
+            prefixHi[size] = hi;
+            prefixLo[size] = lo;
+            depth[size] = (byte) nodeDepth;
+            values[size] = value;
+            return size++;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.alarm.service;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch - 고정 메모리로 키별 빈도를 과대 추정 (과소 추정은 없음)
+ * 너비 w = ⌈e/ε⌉, 깊이 d = ⌈ln(1/δ)⌉ 이면 추정 오차는 확률 1-δ 로 ε·N 이하이다 (N: 전체 건수)
+ * 호출자가 동기화해야 한다.
+ */
+final class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[] counts;
+    private long total;
+
+    CountMinSketch(double epsilon, double delta) {
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counts = new long[width * depth];
+    }
+
+    void add(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            // 두 해시의 선형 결합으로 행마다 독립적인 해시를 만든다 (Kirsch-Mitzenmacher)
+            int column = Math.floorMod(h1 + row * h2, width);
+            counts[row * width + column]++;
+        }
+        total++;
+    }
+
+    long estimate(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[row * width + Math.floorMod(h1 + row * h2, width)]);
+        }
+        return min;
+    }
+
+    long total() {
+        return total;
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+
+    /**
+     * FNV-1a 64비트 해시 + 최종 혼합
+     */
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,37 @@
+package com.alarm.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * EmailService 를 알람 채널로 노출하는 어댑터 (모든 토픽 대상)
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailNotifier implements AlertNotifier {
+
+    private final EmailService emailService;
+
+    @Override
+    public String channelName() {
+        return "email";
+    }
+
+    @Override
+    public boolean supports(AlertType alertType) {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Void> notify(AlertType alertType, String topicName, String messageData,
+                                          IpListMatch ipMatch) {
+        return switch (alertType) {
+            case SYSTEM_LEVEL -> emailService.sendSystemLevelAlert(topicName, messageData, ipMatch);
+            case RESOURCE_LEVEL -> emailService.sendResourceLevelAlert(topicName, messageData, ipMatch);
+            case AUTH_FAILURE -> emailService.sendAuthFailureAlert(topicName, messageData, ipMatch);
+            case LOCATION_CHANGE -> emailService.sendLocationChangeAlert(topicName, messageData, ipMatch);
+        };
+    }
+}
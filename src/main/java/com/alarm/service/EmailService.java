@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSender;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -19,8 +21,13 @@ import java.time.format.DateTimeFormatter;
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final AdaptiveConcurrencyLimiter smtpLimiter;
+    private final GeoIpService geoIpService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    // 부하 테스트 합성 토픽 메일은 실제 SMTP 로 보내지 않는다 (부하 테스트가 끝난 뒤의 재알림도 버린다)
+    private volatile MailSender syntheticMailSender = new StubMailSender(0, 0);
+
     @Value("${SYSTEM_DEVELOPER_EMAIL}")
     private String systemDeveloperEmail;
 
@@ -32,67 +39,207 @@ public class EmailService {
 
     /**
      * 시스템 레벨 보안 알람을 시스템 개발자에게 발송
+     * ipMatch 는 컨슈머가 억제/표시/상향을 결정할 때 쓴 IP 목록 대조 결과 (없으면 null)
      */
     @Async
-    public void sendSystemLevelAlert(String topicName, String messageData) {
-        String subject = "[🚨 시스템 보안 알람] " + topicName + " 토픽에서 보안 이벤트 감지";
-        String content = buildSystemLevelAlertContent(topicName, messageData);
+    public CompletableFuture<Void> sendSystemLevelAlert(String topicName, String messageData, IpListMatch ipMatch) {
+        String subject = buildSubject(AlertType.SYSTEM_LEVEL, topicName, ipMatch);
+        String content = buildContent(AlertType.SYSTEM_LEVEL, topicName, messageData, ipMatch);
         
-        sendEmail(systemDeveloperEmail, subject, content);
+        sendEmail(topicName, systemDeveloperEmail, subject, content, escalationCc(ipMatch, systemDeveloperEmail));
         log.info("시스템 레벨 보안 알람 발송 완료: {} -> {}", topicName, systemDeveloperEmail);
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
      * 리소스/사용자 레벨 보안 알람을 유저/리소스 개발자에게 발송
      */
     @Async
-    public void sendResourceLevelAlert(String topicName, String messageData) {
-        String subject = "[⚠️ 리소스/사용자 보안 알람] " + topicName + " 토픽에서 보안 이벤트 감지";
-        String content = buildResourceLevelAlertContent(topicName, messageData);
+    public CompletableFuture<Void> sendResourceLevelAlert(String topicName, String messageData, IpListMatch ipMatch) {
+        String subject = buildSubject(AlertType.RESOURCE_LEVEL, topicName, ipMatch);
+        String content = buildContent(AlertType.RESOURCE_LEVEL, topicName, messageData, ipMatch);
         
-        sendEmail(userResourceDeveloperEmail, subject, content);
+        sendEmail(topicName, userResourceDeveloperEmail, subject, content, escalationCc(ipMatch, userResourceDeveloperEmail));
         log.info("리소스/사용자 레벨 보안 알람 발송 완료: {} -> {}", topicName, userResourceDeveloperEmail);
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
      * 인증 실패 보안 알람을 유저/리소스 개발자에게 발송 (certified-2time)
      */
     @Async
-    public void sendAuthFailureAlert(String topicName, String messageData) {
-        String subject = "[🔐 인증 실패 보안 알람] " + topicName + " 토픽에서 인증 실패 이벤트 감지";
-        String content = buildAuthFailureAlertContent(topicName, messageData);
+    public CompletableFuture<Void> sendAuthFailureAlert(String topicName, String messageData, IpListMatch ipMatch) {
+        String subject = buildSubject(AlertType.AUTH_FAILURE, topicName, ipMatch);
+        String content = buildContent(AlertType.AUTH_FAILURE, topicName, messageData, ipMatch);
         
-        sendEmail(userResourceDeveloperEmail, subject, content);
+        sendEmail(topicName, userResourceDeveloperEmail, subject, content, escalationCc(ipMatch, userResourceDeveloperEmail));
         log.info("인증 실패 보안 알람 발송 완료: {} -> {}", topicName, userResourceDeveloperEmail);
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
      * 위치 변경 보안 알람을 유저/리소스 개발자에게 발송 (certified-notMove)
      */
     @Async
-    public void sendLocationChangeAlert(String topicName, String messageData) {
-        String subject = "[🌍 위치 변경 보안 알람] " + topicName + " 토픽에서 위치 변경 이벤트 감지";
-        String content = buildLocationChangeAlertContent(topicName, messageData);
+    public CompletableFuture<Void> sendLocationChangeAlert(String topicName, String messageData, IpListMatch ipMatch) {
+        String subject = buildSubject(AlertType.LOCATION_CHANGE, topicName, ipMatch);
+        String content = buildContent(AlertType.LOCATION_CHANGE, topicName, messageData, ipMatch);
         
-        sendEmail(userResourceDeveloperEmail, subject, content);
+        sendEmail(topicName, userResourceDeveloperEmail, subject, content, escalationCc(ipMatch, userResourceDeveloperEmail));
         log.info("위치 변경 보안 알람 발송 완료: {} -> {}", topicName, userResourceDeveloperEmail);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * 과부하 구간 동안 생략된 리소스 레벨 알람 요약을 유저/리소스 개발자에게 발송
+     */
+    @Async
+    public CompletableFuture<Void> sendShedSummary(long shedCount, String summary) {
+        String subject = "[ℹ️ 알람 요약] 과부하로 생략된 리소스/사용자 보안 알람 " + shedCount + "건";
+        String content = String.format(
+            """
+            ℹ️ 과부하 구간 알람 요약
+            
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            
+            📅 요약 발송 시간: %s
+            🔍 알람 유형: 리소스/사용자 레벨 보안 이벤트 (위험도 낮음/정상)
+            👤 담당자: 유저/리소스 개발자
+            
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            
+            %s
+            
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            
+            ℹ️  알람 서버 처리 지연으로 위험도가 낮은 알람을 개별 발송하지 않고 요약했습니다.
+            ✅ 처리가 정상화되어 현재는 모든 알람이 다시 개별 발송됩니다.
+            
+            🤖 이 메일은 알람 서버에서 자동으로 발송되었습니다.
+            """,
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+            summary
+        );
+
+        sendEmail(null, userResourceDeveloperEmail, subject, content, null);
+        log.info("과부하 구간 알람 요약 발송 완료: {}건 -> {}", shedCount, userResourceDeveloperEmail);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * 확인되지 않은 시스템 레벨 보안 알람 재알림 (nextTierEmail 이 있으면 상위 담당자를 참조로 추가)
+     */
+    @Async
+    public CompletableFuture<Void> sendEscalationAlert(String topicName, String messageData, IpListMatch ipMatch,
+                                                       String eventId, int notification, String nextTierEmail) {
+        String subject = "[🔁 " + notification + "차 재알림] " + buildSubject(AlertType.SYSTEM_LEVEL, topicName, ipMatch);
+        String content = String.format(
+            """
+            🔁 확인되지 않은 시스템 보안 알람 %d차 재알림
+
+            🆔 이벤트 ID: %s
+            ✅ 확인 처리: POST /api/alerts/%s/ack (X-Admin-Token 헤더 필요, 어느 알람 서버 인스턴스로 보내도 됩니다)
+            %s
+            """,
+            notification,
+            eventId,
+            eventId,
+            nextTierEmail != null ? "📣 상위 담당자에게도 발송되었습니다: " + nextTierEmail + "\n" : ""
+        ) + buildContent(AlertType.SYSTEM_LEVEL, topicName, messageData, ipMatch);
+
+        sendEmail(topicName, systemDeveloperEmail, subject, content, nextTierEmail);
+        log.info("시스템 레벨 보안 알람 {}차 재알림 발송 완료: {} -> {} (ID: {})",
+                notification, topicName, systemDeveloperEmail, eventId);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * 부하 테스트 합성 토픽의 메일을 받을 발송기 지정 (실제 SMTP 대신)
+     */
+    void useSyntheticMailSender(MailSender sender) {
+        syntheticMailSender = sender;
+    }
+
+    /**
+     * 차단 목록 IP 로 상향된 알람은 시스템 개발자에게도 참조로 보낸다
+     */
+    private String escalationCc(IpListMatch ipMatch, String recipient) {
+        boolean escalated = ipMatch != null && ipMatch.action() == IpListAction.ESCALATE;
+        return escalated && !systemDeveloperEmail.equals(recipient) ? systemDeveloperEmail : null;
+    }
+
+    /**
+     * 알람 종류별 메일 제목 구성
+     */
+    private String buildSubject(AlertType alertType, String topicName, IpListMatch ipMatch) {
+        String subject = switch (alertType) {
+            case SYSTEM_LEVEL -> "[🚨 시스템 보안 알람] " + topicName + " 토픽에서 보안 이벤트 감지";
+            case RESOURCE_LEVEL -> "[⚠️ 리소스/사용자 보안 알람] " + topicName + " 토픽에서 보안 이벤트 감지";
+            case AUTH_FAILURE -> "[🔐 인증 실패 보안 알람] " + topicName + " 토픽에서 인증 실패 이벤트 감지";
+            case LOCATION_CHANGE -> "[🌍 위치 변경 보안 알람] " + topicName + " 토픽에서 위치 변경 이벤트 감지";
+        };
+        if (ipMatch == null) {
+            return subject;
+        }
+        return (ipMatch.action() == IpListAction.ESCALATE ? "[🚨 " : "[🏷️ ") + ipMatch.list() + "] " + subject;
+    }
+
+    /**
+     * 알람 종류별 메일 본문 구성
+     */
+    private String buildContent(AlertType alertType, String topicName, String messageData, IpListMatch ipMatch) {
+        String content = switch (alertType) {
+            case SYSTEM_LEVEL -> buildSystemLevelAlertContent(topicName, messageData);
+            case RESOURCE_LEVEL -> buildResourceLevelAlertContent(topicName, messageData);
+            case AUTH_FAILURE -> buildAuthFailureAlertContent(topicName, messageData);
+            case LOCATION_CHANGE -> buildLocationChangeAlertContent(topicName, messageData);
+        };
+        if (ipMatch == null) {
+            return content;
+        }
+        String notice = ipMatch.action() == IpListAction.ESCALATE
+                ? "🚨 차단 목록 IP 에서 발생한 이벤트입니다. 위험도를 높음으로 상향합니다.\n"
+                : "";
+        return "🛡️ IP 목록 일치: " + ipMatch.describe() + "\n" + notice + "\n" + content;
+    }
+
+    private SimpleMailMessage buildMessage(String to, String subject, String content, String cc) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(to);
+        if (cc != null) {
+            message.setCc(cc);
+        }
+        message.setSubject(subject);
+        message.setText(content);
+        return message;
     }
 
     /**
      * 이메일 발송 공통 메서드
+     * @param topicName 알람 토픽 (부하 테스트 합성 토픽이면 스텁 발송기로 보낸다, 토픽이 없는 요약 메일은 null)
      */
-    private void sendEmail(String to, String subject, String content) {
+    private void sendEmail(String topicName, String to, String subject, String content, String cc) {
+        long permit;
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(content);
-            
-            mailSender.send(message);
+            // SMTP 릴레이 상태에 맞춰 동시 발송 수를 조절
+            permit = smtpLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("이메일 발송 대기 중 중단: {} -> {}", subject, to);
+            return;
+        }
+
+        boolean success = false;
+        try {
+            MailSender sender = LoadGeneratorService.isSynthetic(topicName) ? syntheticMailSender : mailSender;
+            sender.send(buildMessage(to, subject, content, cc));
+            success = true;
             log.info("이메일 발송 성공: {} -> {}", subject, to);
         } catch (Exception e) {
             log.error("이메일 발송 실패: {} -> {}, 오류: {}", subject, to, e.getMessage(), e);
+        } finally {
+            smtpLimiter.release(permit, success);
         }
     }
 
@@ -219,25 +366,7 @@ public class EmailService {
      * 위험도를 판단하는 메서드
      */
     private String determineRiskLevel(JsonNode jsonNode) {
-        String operation = getJsonValue(jsonNode, "operation", "");
-        String resourceType = getJsonValue(jsonNode, "resourceType", "");
-        boolean granted = getJsonValue(jsonNode, "granted", "false").equals("true");
-        
-        if (!granted) {
-            if (operation.equals("ADMIN") || resourceType.equals("SYSTEM")) {
-                return "🚨 보안 위험도: 높음 (권한 거부된 관리자 작업)";
-            } else if (operation.equals("DELETE") || operation.equals("UPDATE")) {
-                return "⚠️ 보안 위험도: 중간 (권한 거부된 수정 작업)";
-            } else {
-                return "ℹ️ 보안 위험도: 낮음 (권한 거부된 조회 작업)";
-            }
-        } else {
-            if (operation.equals("ADMIN") || resourceType.equals("SYSTEM")) {
-                return "🔍 보안 위험도: 모니터링 필요 (관리자 작업 허용)";
-            } else {
-                return "✅ 보안 위험도: 정상 (일반 작업 허용)";
-            }
-        }
+        return AlertSeverity.classify(AlertType.RESOURCE_LEVEL, jsonNode).getRiskLevelLabel();
     }
 
     /**
@@ -322,6 +451,7 @@ public class EmailService {
     private String parseAndFormatLocationChangeData(String messageData) {
         try {
             JsonNode jsonNode = objectMapper.readTree(messageData);
+            GeoIpLocation location = geoIpService.lookup(getJsonValue(jsonNode, "clientIp", null));
             
             return String.format(
                 """
@@ -331,6 +461,8 @@ public class EmailService {
                 🕐 알람 시간: %s
                 🔍 알람 유형: %s
                 🌐 클라이언트 IP: %s
+                📍 IP 위치: %s
+                🏢 네트워크(ASN): %s
                 📝 설명: %s
                 🔢 실패 횟수: %s
                 
@@ -341,6 +473,8 @@ public class EmailService {
                 formatTimestamp(getJsonValue(jsonNode, "alertTimeKST", "")),
                 getJsonValue(jsonNode, "alertType", "N/A"),
                 getJsonValue(jsonNode, "clientIp", "N/A"),
+                location != null ? location.describe() : "N/A",
+                location != null ? location.describeNetwork() : "N/A",
                 getJsonValue(jsonNode, "description", "N/A"),
                 getJsonValue(jsonNode, "failureCount", "N/A")
             );
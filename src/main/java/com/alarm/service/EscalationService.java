@@ -0,0 +1,688 @@
+package com.alarm.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 확인(ack)되지 않은 시스템 레벨 보안 알람 재알림
+ * - 대상 작업(기본 ADMIN)의 system-level-false 알람이 발송되면 재알림 일정을 계층형 타이밍 휠에 예약한다
+ * - 확인될 때까지 일정(마지막 간격 반복)에 따라 시스템 개발자에게 다시 알리고, 정해진 차수부터는 상위 담당자를 참조로 추가한다
+ * - 대기 중인 재알림은 PartitionStateStore 에 기록되어 재시작이나 파티션 이동 후 새 소유자가 이어서 예약한다
+ * - 소유하지 않은 인스턴스로 들어온 확인은 확인 기록 토픽({그룹ID}-escalation-acks)에 남기고, 모든 인스턴스가
+ *   이 토픽을 읽어 자기 소유의 재알림이면 중지한다 (복원할 때도 이미 확인된 재알림은 다시 예약하지 않는다)
+ * 따라서 로드 밸런서 뒤의 어느 인스턴스로 확인해도 된다.
+ */
+@Slf4j
+@Service
+@Order(3)
+@RequiredArgsConstructor
+public class EscalationService implements ConsumerAwareRebalanceListener {
+
+    private static final String KEY_PREFIX = "escalation:";
+    private static final int WHEEL_SIZE = 64;
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.of("Asia/Seoul"));
+    private static final Duration ACK_POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final long ACK_RETENTION_MS = TimeUnit.DAYS.toMillis(7);
+    private static final long ACK_SEND_TIMEOUT_MS = 5000;
+    private static final long ACK_RETRY_MS = 10_000;
+
+    private final PartitionStateStore stateStore;
+    private final EmailService emailService;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaAdmin kafkaAdmin;
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // eventId -> 대기 중인 재알림 (this 로 동기화, 타이밍 휠과 함께 갱신)
+    private final Map<String, Pending> pending = new HashMap<>();
+    // 확인 기록 토픽에서 읽은 eventId -> 확인 시각 (this 로 동기화, 보관 기간이 지나면 정리)
+    private final Map<String, Long> recentAcks = new LinkedHashMap<>();
+    private final AtomicLong notificationsSent = new AtomicLong();
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicLong forwardedAcks = new AtomicLong();
+    private final AtomicLong remoteAcks = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+
+    @Value("${CONSUMER_GROUP_ID}")
+    private String consumerGroupId;
+
+    // 확인 기록 토픽은 상태 변경 로그와 같은 설정을 따른다
+    @Value("${ALARM_STATE_CHANGELOG_ENABLED:true}")
+    private boolean ackTopicEnabled;
+
+    @Value("${ALARM_STATE_CHANGELOG_REPLICAS:3}")
+    private int ackTopicReplicas;
+
+    @Value("${ALARM_ESCALATION_OPERATIONS:ADMIN}")
+    private String operationsConfig;
+
+    @Value("${ALARM_ESCALATION_SCHEDULE:15m,30m,60m}")
+    private String scheduleConfig;
+
+    @Value("${ALARM_ESCALATION_NEXT_TIER_EMAIL:}")
+    private String nextTierEmail;
+
+    @Value("${ALARM_ESCALATION_NEXT_TIER_AFTER:2}")
+    private int nextTierAfter;
+
+    @Value("${ALARM_ESCALATION_MAX_NOTIFICATIONS:10}")
+    private int maxNotifications;
+
+    @Value("${ALARM_ESCALATION_TICK_MS:1000}")
+    private long tickMs;
+
+    private Set<String> operations;
+    private long[] schedule;
+    private HierarchicalTimingWheel<Pending> wheel;
+    private ScheduledExecutorService ticker;
+    private volatile boolean running;
+    private volatile boolean ackTopicReady;
+    private volatile Consumer<String, String> ackConsumer;
+
+    @PostConstruct
+    void init() {
+        operations = new HashSet<>();
+        for (String operation : operationsConfig.split(",")) {
+            if (!operation.isBlank()) {
+                operations.add(operation.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        schedule = parseSchedule(scheduleConfig);
+        if (operations.isEmpty()) {
+            log.info("재알림 대상 작업 미설정 - 미확인 알람 재알림 비활성화");
+            return;
+        }
+        wheel = new HierarchicalTimingWheel<>(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "alert-escalation-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        if (ackTopicEnabled) {
+            running = true;
+            Thread ackReader = new Thread(this::readAcks, "alert-escalation-acks");
+            ackReader.setDaemon(true);
+            ackReader.start();
+        }
+        log.info("미확인 알람 재알림 준비 - 대상 작업: {}, 일정: {}, 최대 {}회", operations, scheduleConfig, maxNotifications);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        Consumer<String, String> consumer = ackConsumer;
+        if (consumer != null) {
+            consumer.wakeup();
+        }
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * 발송을 마친 알람의 재알림 예약 (대상이 아니거나 이미 대기 중이면 무시)
+     */
+    public void register(AlertType alertType, String topic, int partition, String eventId, String operation,
+                         String message, IpListMatch ipMatch) {
+        if (wheel == null || alertType != AlertType.SYSTEM_LEVEL || eventId == null || operation == null
+                || !operations.contains(operation.toUpperCase(Locale.ROOT))) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Pending entry;
+        synchronized (this) {
+            if (pending.containsKey(eventId)) {
+                return;
+            }
+            // 변경 로그 기록이 끝날 때까지 타이머 없이 자리만 잡아 둔다 (그 사이 확인되면 예약하지 않는다)
+            entry = new Pending(topic, partition, eventId, operation, message, ipMatch, now, 0, now + schedule[0]);
+            pending.put(eventId, entry);
+        }
+        if (!persist(entry, entry.toJson(objectMapper))) {
+            synchronized (this) {
+                if (pending.remove(eventId, entry)) {
+                    log.warn("⚠️ 소유하지 않은 파티션의 알람 - 재알림 예약 생략: {}-{} (ID: {})", topic, partition, eventId);
+                }
+            }
+            return;
+        }
+        synchronized (this) {
+            if (pending.get(eventId) != entry) {
+                return;
+            }
+            entry.timer = wheel.schedule(entry.nextAt, entry);
+        }
+        log.info("⏰ 미확인 알람 재알림 예약 - ID: {}, {} 후", eventId, formatDelay(schedule[0]));
+    }
+
+    /**
+     * 알람 확인 처리 - 재알림 취소
+     * 이 인스턴스에 대기 중이면 바로 취소하고(status ACKNOWLEDGED), 아니면 확인 기록 토픽에 남겨
+     * 소유 인스턴스가 취소하도록 한다(status FORWARDED)
+     *
+     * @return 이 인스턴스에 대기 중인 재알림이 없고 확인 기록 토픽도 쓸 수 없으면 null
+     * @throws IllegalStateException 확인 기록 토픽에 쓰지 못한 경우
+     */
+    public Map<String, Object> acknowledge(String eventId, String acknowledgedBy) {
+        long now = System.currentTimeMillis();
+        Pending entry;
+        synchronized (this) {
+            entry = pending.remove(eventId);
+            if (entry != null) {
+                wheel.cancel(entry.timer);
+            }
+        }
+
+        Map<String, Object> result;
+        if (entry != null) {
+            forget(entry);
+            acknowledged.incrementAndGet();
+            log.info("✅ 시스템 보안 알람 확인 - ID: {}, 확인자: {}, 재알림 {}회 후", eventId, acknowledgedBy, entry.notifications);
+            result = entry.describe();
+            result.put("status", "ACKNOWLEDGED");
+        } else {
+            if (!ackTopicReady) {
+                return null;
+            }
+            publishAck(eventId, acknowledgedBy, now);
+            forwardedAcks.incrementAndGet();
+            log.info("📨 알람 확인 기록 - 소유 인스턴스에서 재알림 중지 예정: ID {}, 확인자: {}", eventId, acknowledgedBy);
+            result = new LinkedHashMap<>();
+            result.put("status", "FORWARDED");
+            result.put("eventId", eventId);
+        }
+        result.put("acknowledgedBy", acknowledgedBy);
+        result.put("acknowledgedAt", TIME_FORMAT.format(Instant.ofEpochMilli(now)));
+        return result;
+    }
+
+    /**
+     * 대기 중인 재알림 (다음 재알림 시각순)
+     */
+    public List<Map<String, Object>> pending(int limit) {
+        List<Pending> entries;
+        synchronized (this) {
+            entries = new ArrayList<>(pending.values());
+        }
+        entries.sort(Comparator.comparingLong(entry -> entry.nextAt));
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, entries.size()); i++) {
+            result.add(entries.get(i).describe());
+        }
+        return result;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", wheel != null);
+        stats.put("operations", operations);
+        stats.put("schedule", scheduleConfig);
+        stats.put("nextTierEmail", nextTierEmail.isBlank() ? null : nextTierEmail);
+        synchronized (this) {
+            stats.put("pending", pending.size());
+            stats.put("scheduledTimers", wheel != null ? wheel.size() : 0);
+        }
+        stats.put("notificationsSent", notificationsSent.get());
+        stats.put("acknowledged", acknowledged.get());
+        stats.put("forwardedAcks", forwardedAcks.get());
+        stats.put("remoteAcks", remoteAcks.get());
+        stats.put("ackTopicReady", ackTopicReady);
+        stats.put("exhausted", exhausted.get());
+        return stats;
+    }
+
+    /**
+     * 새로 할당된 파티션의 대기 중인 재알림 재예약 (PartitionStateStore 복원 후 호출된다)
+     */
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> assigned) {
+        if (wheel == null) {
+            return;
+        }
+        Set<TopicPartition> assignedSet = new HashSet<>(assigned);
+        List<Pending> restored = new ArrayList<>();
+        stateStore.forEachPartition((topicPartition, state) -> {
+            if (!assignedSet.contains(topicPartition)) {
+                return;
+            }
+            state.forEach((key, value) -> {
+                if (key.startsWith(KEY_PREFIX)) {
+                    Pending entry = Pending.fromJson(objectMapper, value);
+                    if (entry != null) {
+                        restored.add(entry);
+                    } else {
+                        log.warn("⚠️ 잘못된 재알림 상태 무시: {} - {}", topicPartition, key);
+                    }
+                }
+            });
+        });
+
+        int scheduled = 0;
+        List<Pending> alreadyAcked = new ArrayList<>();
+        synchronized (this) {
+            for (Pending entry : restored) {
+                if (recentAcks.containsKey(entry.eventId)) {
+                    // 파티션 소유자가 없거나 다른 인스턴스였을 때 들어온 확인
+                    alreadyAcked.add(entry);
+                } else if (!pending.containsKey(entry.eventId)) {
+                    schedule(entry);
+                    scheduled++;
+                }
+            }
+        }
+        alreadyAcked.forEach(this::forget);
+        if (scheduled > 0) {
+            log.info("⏰ 미확인 알람 재알림 복원 - {}건: {}", scheduled, assigned);
+        }
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> revoked) {
+        release(revoked);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> lost) {
+        release(lost);
+    }
+
+    /**
+     * 넘겨준 파티션의 타이머만 취소 (상태는 변경 로그에 남아 새 소유자가 이어서 예약한다)
+     */
+    void release(Collection<TopicPartition> partitions) {
+        if (wheel == null || partitions.isEmpty()) {
+            return;
+        }
+        Set<TopicPartition> released = new HashSet<>(partitions);
+        int cancelled = 0;
+        synchronized (this) {
+            var iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                Pending entry = iterator.next();
+                if (released.contains(new TopicPartition(entry.topic, entry.partition))) {
+                    wheel.cancel(entry.timer);
+                    iterator.remove();
+                    cancelled++;
+                }
+            }
+        }
+        if (cancelled > 0) {
+            log.info("미확인 알람 재알림 {}건 이관: {}", cancelled, partitions);
+        }
+    }
+
+    private void tick() {
+        try {
+            List<Pending> due;
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                due = wheel.advance(now);
+                pruneAcks(now);
+            }
+            due.forEach(this::escalate);
+        } catch (Exception e) {
+            log.error("❌ 재알림 처리 실패 - {}", e.getMessage(), e);
+        }
+    }
+
+    private void escalate(Pending entry) {
+        int notification;
+        String json = null;
+        synchronized (this) {
+            // 만료 후 잠금을 다시 잡기 전에 확인되었거나 파티션이 이관되었을 수 있다
+            if (pending.get(entry.eventId) != entry) {
+                return;
+            }
+            notification = ++entry.notifications;
+            if (notification >= maxNotifications) {
+                pending.remove(entry.eventId);
+            } else {
+                entry.nextAt = System.currentTimeMillis() + schedule[Math.min(notification, schedule.length - 1)];
+                json = entry.toJson(objectMapper);
+            }
+        }
+
+        if (json == null) {
+            forget(entry);
+            exhausted.incrementAndGet();
+            log.warn("⚠️ 재알림 최대 횟수 도달 - 더 이상 재알림하지 않음: ID {}", entry.eventId);
+        } else if (persist(entry, json)) {
+            synchronized (this) {
+                if (pending.get(entry.eventId) == entry) {
+                    entry.timer = wheel.schedule(entry.nextAt, entry);
+                }
+            }
+        } else {
+            // 기록 중 확인되었거나 파티션을 더 이상 소유하지 않는다
+            synchronized (this) {
+                pending.remove(entry.eventId, entry);
+            }
+            return;
+        }
+
+        String cc = !nextTierEmail.isBlank() && notification >= nextTierAfter ? nextTierEmail : null;
+        notificationsSent.incrementAndGet();
+        log.info("🔁 미확인 시스템 보안 알람 {}차 재알림 - ID: {}{}", notification, entry.eventId,
+                cc != null ? ", 상위 담당자: " + cc : "");
+        emailService.sendEscalationAlert(entry.topic, entry.message, entry.ipMatch, entry.eventId, notification, cc)
+                .exceptionally(e -> {
+                    log.error("❌ 재알림 발송 실패 - ID: {} - {}", entry.eventId, e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * 확인 기록 토픽을 처음부터 읽어 대기 중인 재알림에 적용한다 (실패 시 잠시 후 다시 연결)
+     */
+    private void readAcks() {
+        while (running) {
+            try (Consumer<String, String> consumer = createAckConsumer()) {
+                ackConsumer = consumer;
+                ackTopicReady = true;
+                log.info("알람 확인 기록 토픽 구독 시작: {}", ackTopic());
+                while (running) {
+                    for (ConsumerRecord<String, String> record : consumer.poll(ACK_POLL_TIMEOUT)) {
+                        if (record.key() != null && record.value() != null) {
+                            applyAck(record.key(), record.value());
+                        }
+                    }
+                }
+            } catch (WakeupException e) {
+                // 종료 중
+            } catch (Exception e) {
+                ackTopicReady = false;
+                log.warn("⚠️ 알람 확인 기록 토픽 사용 불가, {}초 후 재시도 (확인은 소유 인스턴스에서만 가능): {} - {}",
+                        ACK_RETRY_MS / 1000, ackTopic(), e.getMessage());
+                try {
+                    Thread.sleep(ACK_RETRY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                ackConsumer = null;
+            }
+        }
+    }
+
+    private Consumer<String, String> createAckConsumer() {
+        NewTopic topic = TopicBuilder.name(ackTopic())
+                .partitions(1)
+                .replicas(ackTopicReplicas)
+                .config(TopicConfig.CLEANUP_POLICY_CONFIG,
+                        TopicConfig.CLEANUP_POLICY_COMPACT + "," + TopicConfig.CLEANUP_POLICY_DELETE)
+                .config(TopicConfig.RETENTION_MS_CONFIG, Long.toString(ACK_RETENTION_MS))
+                .build();
+        kafkaAdmin.createOrModifyTopics(topic);
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        Consumer<String, String> consumer =
+                consumerFactory.createConsumer(consumerGroupId + "-escalation-acks", "escalation-acks", null, overrides);
+        try {
+            // 모든 인스턴스가 전체 기록을 읽어야 하므로 그룹 구독 대신 직접 할당한다
+            List<TopicPartition> partitions = consumer.partitionsFor(ackTopic()).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+            return consumer;
+        } catch (RuntimeException e) {
+            consumer.close();
+            throw e;
+        }
+    }
+
+    private void publishAck(String eventId, String acknowledgedBy, long acknowledgedAt) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("eventId", eventId);
+        node.put("acknowledgedBy", acknowledgedBy);
+        node.put("acknowledgedAt", acknowledgedAt);
+        try {
+            kafkaTemplate.send(ackTopic(), eventId, node.toString()).get(ACK_SEND_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("알람 확인 기록 중단: " + eventId, e);
+        } catch (Exception e) {
+            throw new IllegalStateException("알람 확인 기록 실패: " + eventId + " - " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 확인 기록 적용 - 이 인스턴스에 대기 중이면 재알림을 중지하고, 아니면 나중에 복원될 때 건너뛰도록 기억한다
+     */
+    private void applyAck(String eventId, String json) {
+        String acknowledgedBy;
+        long acknowledgedAt;
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            acknowledgedBy = node.path("acknowledgedBy").asText("unknown");
+            acknowledgedAt = node.path("acknowledgedAt").asLong();
+        } catch (Exception e) {
+            log.warn("⚠️ 잘못된 알람 확인 기록 무시: {} - {}", eventId, e.getMessage());
+            return;
+        }
+        if (System.currentTimeMillis() - acknowledgedAt > ACK_RETENTION_MS) {
+            return;
+        }
+
+        Pending entry;
+        synchronized (this) {
+            recentAcks.put(eventId, acknowledgedAt);
+            entry = pending.remove(eventId);
+            if (entry == null) {
+                return;
+            }
+            wheel.cancel(entry.timer);
+        }
+        forget(entry);
+        acknowledged.incrementAndGet();
+        remoteAcks.incrementAndGet();
+        log.info("✅ 시스템 보안 알람 확인(다른 인스턴스 접수) - ID: {}, 확인자: {}, 재알림 {}회 후",
+                eventId, acknowledgedBy, entry.notifications);
+    }
+
+    private void pruneAcks(long now) {
+        var iterator = recentAcks.values().iterator();
+        while (iterator.hasNext() && now - iterator.next() > ACK_RETENTION_MS) {
+            iterator.remove();
+        }
+    }
+
+    private String ackTopic() {
+        return consumerGroupId + "-escalation-acks";
+    }
+
+    /**
+     * 재알림 상태를 변경 로그에 기록한다 (KafkaTemplate 전송이 막힐 수 있으므로 this 잠금 밖에서 호출)
+     * 같은 항목의 기록/삭제는 항목 단위로 순서를 지켜, 확인 뒤에 늦게 도착한 갱신이 상태를 되살리지 않게 한다
+     *
+     * @return 확인/종료되지 않았고 파티션을 소유하고 있어 기록했으면 true
+     */
+    private boolean persist(Pending entry, String json) {
+        synchronized (entry) {
+            return !entry.removed && stateStore.put(entry.topic, entry.partition, KEY_PREFIX + entry.eventId, json);
+        }
+    }
+
+    /**
+     * 확인/종료된 재알림 상태 삭제 (this 잠금 밖에서 호출)
+     */
+    private void forget(Pending entry) {
+        synchronized (entry) {
+            entry.removed = true;
+            stateStore.delete(entry.topic, entry.partition, KEY_PREFIX + entry.eventId);
+        }
+    }
+
+    private void schedule(Pending entry) {
+        entry.timer = wheel.schedule(entry.nextAt, entry);
+        pending.put(entry.eventId, entry);
+    }
+
+    /**
+     * "15m,30m,1h" 형식의 재알림 간격 (단위: ms, s, m, h, 생략 시 ms)
+     */
+    private static long[] parseSchedule(String config) {
+        List<Long> delays = new ArrayList<>();
+        for (String part : config.split(",")) {
+            String value = part.trim().toLowerCase(Locale.ROOT);
+            if (value.isEmpty()) {
+                continue;
+            }
+            long multiplier = 1;
+            if (value.endsWith("ms")) {
+                value = value.substring(0, value.length() - 2);
+            } else if (value.endsWith("s")) {
+                multiplier = 1000;
+                value = value.substring(0, value.length() - 1);
+            } else if (value.endsWith("m")) {
+                multiplier = 60_000;
+                value = value.substring(0, value.length() - 1);
+            } else if (value.endsWith("h")) {
+                multiplier = 3_600_000;
+                value = value.substring(0, value.length() - 1);
+            }
+            long delay = Long.parseLong(value.trim()) * multiplier;
+            if (delay <= 0) {
+                throw new IllegalArgumentException("재알림 간격은 0보다 커야 합니다: " + part);
+            }
+            delays.add(delay);
+        }
+        if (delays.isEmpty()) {
+            throw new IllegalArgumentException("ALARM_ESCALATION_SCHEDULE 이 비어 있습니다");
+        }
+        return delays.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static String formatDelay(long millis) {
+        if (millis % 3_600_000 == 0) {
+            return millis / 3_600_000 + "시간";
+        }
+        if (millis % 60_000 == 0) {
+            return millis / 60_000 + "분";
+        }
+        return millis / 1000 + "초";
+    }
+
+    static final class Pending {
+
+        private final String topic;
+        private final int partition;
+        private final String eventId;
+        private final String operation;
+        private final String message;
+        // 최초 발송 때 컨슈머가 내린 IP 목록 판단 (재알림도 같은 표시/상향을 유지)
+        private final IpListMatch ipMatch;
+        private final long createdAt;
+        private int notifications;
+        private long nextAt;
+        private HierarchicalTimingWheel.Timer<Pending> timer;
+        // 확인/종료되어 상태가 삭제됨 (항목 자신으로 동기화)
+        private boolean removed;
+
+        Pending(String topic, int partition, String eventId, String operation, String message, IpListMatch ipMatch,
+                long createdAt, int notifications, long nextAt) {
+            this.topic = topic;
+            this.partition = partition;
+            this.eventId = eventId;
+            this.operation = operation;
+            this.message = message;
+            this.ipMatch = ipMatch;
+            this.createdAt = createdAt;
+            this.notifications = notifications;
+            this.nextAt = nextAt;
+        }
+
+        String toJson(ObjectMapper objectMapper) {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("topic", topic);
+            node.put("partition", partition);
+            node.put("eventId", eventId);
+            node.put("operation", operation);
+            node.put("message", message);
+            if (ipMatch != null) {
+                ObjectNode ipList = node.putObject("ipList");
+                ipList.put("list", ipMatch.list());
+                ipList.put("action", ipMatch.action().name());
+                ipList.put("cidr", ipMatch.cidr());
+                ipList.put("label", ipMatch.label());
+            }
+            node.put("createdAt", createdAt);
+            node.put("notifications", notifications);
+            node.put("nextAt", nextAt);
+            return node.toString();
+        }
+
+        static Pending fromJson(ObjectMapper objectMapper, String json) {
+            try {
+                JsonNode node = objectMapper.readTree(json);
+                JsonNode ipList = node.get("ipList");
+                IpListMatch ipMatch = ipList == null ? null : new IpListMatch(ipList.get("list").asText(),
+                        IpListAction.valueOf(ipList.get("action").asText()), ipList.get("cidr").asText(),
+                        ipList.get("label").asText());
+                return new Pending(node.get("topic").asText(), node.get("partition").asInt(),
+                        node.get("eventId").asText(), node.get("operation").asText(), node.get("message").asText(),
+                        ipMatch, node.get("createdAt").asLong(), node.get("notifications").asInt(),
+                        node.get("nextAt").asLong());
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("eventId", eventId);
+            result.put("topic", topic);
+            result.put("partition", partition);
+            result.put("operation", operation);
+            result.put("notifications", notifications);
+            result.put("createdAt", TIME_FORMAT.format(Instant.ofEpochMilli(createdAt)));
+            result.put("nextNotificationAt", TIME_FORMAT.format(Instant.ofEpochMilli(nextAt)));
+            return result;
+        }
+    }
+}
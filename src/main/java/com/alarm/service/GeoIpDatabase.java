@@ -0,0 +1,264 @@
+package com.alarm.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 읽기 전용 IPv4 위치 데이터베이스 (메모리 매핑 파일)
+ * CSV 원본(시작IP,끝IP,국가,지역,도시,위도,경도[,ASN,AS조직])을 정렬된 이진 색인 파일로 변환한 뒤 매핑해서,
+ * 조회 시에는 힙 할당 없이 off-heap 에서 이진 탐색만 수행한다.
+ *
+ * 색인 레이아웃:
+ *  header: magic(4) | rangeCount(4) | locationCount(4) | reserved(4)
+ *  ranges: rangeCount x [start(4) | end(4) | locationIndex(4)]  (start 오름차순, 부호 없는 정수)
+ *  locations: locationCount x offset(4) -> [length(2) | UTF-8 "국가\t지역\t도시\t위도\t경도\tASN\tAS조직"]
+ */
+final class GeoIpDatabase {
+
+    private static final int MAGIC = 0x4147454F; // "AGEO"
+    private static final int HEADER_SIZE = 16;
+    private static final int RANGE_SIZE = 12;
+
+    private final ByteBuffer index;
+    private final int rangeCount;
+    private final int locationCount;
+    private final int locationTable;
+
+    private GeoIpDatabase(ByteBuffer index) {
+        if (index.getInt(0) != MAGIC) {
+            throw new IllegalStateException("GeoIP 색인 형식이 올바르지 않습니다");
+        }
+        this.index = index;
+        this.rangeCount = index.getInt(4);
+        this.locationCount = index.getInt(8);
+        this.locationTable = HEADER_SIZE + rangeCount * RANGE_SIZE;
+    }
+
+    /**
+     * CSV 원본을 임시 색인 파일로 변환하고 매핑한다 (매핑 후 임시 파일은 삭제되고 매핑은 유지된다)
+     */
+    static GeoIpDatabase load(Path csv) throws IOException {
+        Path indexFile = Files.createTempFile("alarm-geoip", ".idx");
+        try {
+            writeIndex(csv, indexFile);
+            MappedByteBuffer mapped;
+            try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            return new GeoIpDatabase(mapped);
+        } finally {
+            try {
+                Files.deleteIfExists(indexFile);
+            } catch (IOException e) {
+                indexFile.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    int rangeCount() {
+        return rangeCount;
+    }
+
+    int locationCount() {
+        return locationCount;
+    }
+
+    /**
+     * IPv4 주소(부호 없는 32비트)가 속한 구간의 위치 (없으면 null)
+     */
+    GeoIpLocation lookup(int address) {
+        int low = 0;
+        int high = rangeCount - 1;
+        int found = -1;
+        // start <= address 인 마지막 구간
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (Integer.compareUnsigned(index.getInt(HEADER_SIZE + mid * RANGE_SIZE), address) <= 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (found < 0) {
+            return null;
+        }
+        int base = HEADER_SIZE + found * RANGE_SIZE;
+        if (Integer.compareUnsigned(address, index.getInt(base + 4)) > 0) {
+            return null;
+        }
+        return location(index.getInt(base + 8));
+    }
+
+    private GeoIpLocation location(int locationIndex) {
+        int offset = index.getInt(locationTable + locationIndex * 4);
+        int length = Short.toUnsignedInt(index.getShort(offset));
+        byte[] bytes = new byte[length];
+        index.get(offset + 2, bytes);
+        String[] fields = new String(bytes, StandardCharsets.UTF_8).split("\t", -1);
+        return new GeoIpLocation(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6]);
+    }
+
+    /**
+     * IPv4 문자열을 부호 없는 32비트 정수로 변환 (IPv4 가 아니면 null)
+     */
+    static Integer parseIpv4(String ip) {
+        if (ip == null) {
+            return null;
+        }
+        String value = ip.trim();
+        if (value.startsWith("::ffff:")) {
+            value = value.substring(7);
+        }
+        int address = 0;
+        int octets = 0;
+        int current = -1;
+        for (int i = 0; i <= value.length(); i++) {
+            char c = i < value.length() ? value.charAt(i) : '.';
+            if (c == '.') {
+                if (current < 0 || ++octets > 4) {
+                    return null;
+                }
+                address = (address << 8) | current;
+                current = -1;
+            } else if (c >= '0' && c <= '9') {
+                current = (current < 0 ? 0 : current * 10) + (c - '0');
+                if (current > 255) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        return octets == 4 ? address : null;
+    }
+
+    private static void writeIndex(Path csv, Path indexFile) throws IOException {
+        int[] starts = new int[1024];
+        int[] ends = new int[1024];
+        int[] locations = new int[1024];
+        int count = 0;
+        Map<String, Integer> locationIds = new HashMap<>();
+        List<byte[]> locationBytes = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = splitCsv(line);
+                if (fields.length < 7) {
+                    continue;
+                }
+                // 헤더 행, IPv6 구간 등 IPv4 로 해석되지 않는 행은 건너뛴다
+                Integer start = parseAddress(fields[0]);
+                Integer end = parseAddress(fields[1]);
+                if (start == null || end == null) {
+                    continue;
+                }
+                // ASN, AS 조직 열은 선택 (없으면 빈 값)
+                String text = String.join("\t", fields[2], fields[3], fields[4], fields[5], fields[6],
+                        fields.length > 7 ? fields[7] : "", fields.length > 8 ? fields[8] : "");
+                Integer locationId = locationIds.get(text);
+                if (locationId == null) {
+                    locationId = locationBytes.size();
+                    locationIds.put(text, locationId);
+                    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                    locationBytes.add(bytes.length > 0xFFFF ? Arrays.copyOf(bytes, 0xFFFF) : bytes);
+                }
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                    locations = Arrays.copyOf(locations, count * 2);
+                }
+                starts[count] = start;
+                ends[count] = end;
+                locations[count] = locationId;
+                count++;
+            }
+        }
+
+        // 부호 비트를 뒤집으면 부호 있는 정렬이 부호 없는 시작 주소 순서와 같아진다
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = ((long) (starts[i] ^ Integer.MIN_VALUE) << 32) | i;
+        }
+        Arrays.sort(order);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(count);
+            out.writeInt(locationBytes.size());
+            out.writeInt(0);
+            for (long entry : order) {
+                int row = (int) entry;
+                out.writeInt(starts[row]);
+                out.writeInt(ends[row]);
+                out.writeInt(locations[row]);
+            }
+            int offset = HEADER_SIZE + count * RANGE_SIZE + locationBytes.size() * 4;
+            for (byte[] bytes : locationBytes) {
+                out.writeInt(offset);
+                offset += 2 + bytes.length;
+            }
+            for (byte[] bytes : locationBytes) {
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * 점 표기 IPv4 또는 숫자 표기 주소
+     */
+    private static Integer parseAddress(String field) {
+        if (!field.isEmpty() && field.chars().allMatch(Character::isDigit)) {
+            try {
+                long value = Long.parseLong(field);
+                return value <= 0xFFFFFFFFL ? (int) value : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return parseIpv4(field);
+    }
+
+    /**
+     * 큰따옴표로 감싼 필드를 지원하는 단순 CSV 분리
+     */
+    private static String[] splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(current.toString().trim());
+                current.setLength(0);
+            } else if (c != '\t') {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,40 @@
+package com.alarm.service;
+
+/**
+ * IP 주소의 지리적 위치와 소속 네트워크(AS 번호, AS 조직)
+ */
+public record GeoIpLocation(String country, String region, String city, String latitude, String longitude,
+                            String asn, String asOrg) {
+
+    /**
+     * 알람 본문 표시용 (예: "KR 서울특별시 강남구 (37.5172, 127.0473)")
+     */
+    public String describe() {
+        StringBuilder description = new StringBuilder();
+        for (String part : new String[]{country, region, city}) {
+            if (part != null && !part.isBlank()) {
+                if (description.length() > 0) {
+                    description.append(' ');
+                }
+                description.append(part);
+            }
+        }
+        if (latitude != null && !latitude.isBlank() && longitude != null && !longitude.isBlank()) {
+            description.append(" (").append(latitude).append(", ").append(longitude).append(')');
+        }
+        return description.length() > 0 ? description.toString() : "N/A";
+    }
+
+    /**
+     * 알람 본문 표시용 네트워크 (예: "AS4766 Korea Telecom")
+     */
+    public String describeNetwork() {
+        boolean hasAsn = asn != null && !asn.isBlank();
+        boolean hasOrg = asOrg != null && !asOrg.isBlank();
+        if (!hasAsn && !hasOrg) {
+            return "N/A";
+        }
+        String number = hasAsn ? (asn.regionMatches(true, 0, "AS", 0, 2) ? asn : "AS" + asn) : "";
+        return hasAsn && hasOrg ? number + " " + asOrg : hasAsn ? number : asOrg;
+    }
+}
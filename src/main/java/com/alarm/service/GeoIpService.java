@@ -0,0 +1,195 @@
+package com.alarm.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 로컬 GeoIP 데이터베이스 기반 IP 위치 조회 (외부 호출 없음)
+ * - 데이터베이스는 메모리 매핑된 off-heap 색인으로 조회한다
+ * - 최근 조회 결과는 LRU 캐시에 보관한다
+ * - 원본 파일이 바뀌면 새 데이터베이스를 만들어 캐시와 함께 원자적으로 교체한다 (교체 실패 시 기존 데이터 유지)
+ * - 복사 중인 파일을 읽지 않도록 크기와 수정 시각이 두 번 연속 같을 때만 다시 만들고,
+ *   구간 수가 기존보다 크게 줄어든 결과는 잘린 파일로 보고 교체하지 않는다
+ */
+@Slf4j
+@Service
+public class GeoIpService {
+
+    private static final GeoIpLocation NOT_FOUND = new GeoIpLocation(null, null, null, null, null, null, null);
+
+    @Value("${ALARM_GEOIP_DB_PATH:}")
+    private String databasePath;
+
+    @Value("${ALARM_GEOIP_CACHE_SIZE:10000}")
+    private int cacheSize;
+
+    // 새 데이터베이스의 구간 수가 기존의 이 비율 미만이면 교체하지 않는다
+    @Value("${ALARM_GEOIP_MIN_RANGE_RATIO:0.5}")
+    private double minRangeRatio;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // 현재 데이터베이스의 원본 상태
+    private volatile FileStamp loadedStamp;
+    // 변경을 감지했지만 아직 안정화를 기다리는 원본 상태 (스케줄 스레드 전용)
+    private FileStamp pendingStamp;
+    // 로드에 실패했거나 교체를 거부한 원본 상태 - 파일이 다시 바뀔 때까지 재시도하지 않는다
+    private volatile FileStamp rejectedStamp;
+
+    @PostConstruct
+    void init() {
+        if (databasePath.isBlank()) {
+            log.info("GeoIP 데이터베이스 미설정 - 위치 정보 보강 비활성화");
+            return;
+        }
+        reload();
+    }
+
+    /**
+     * IP 주소의 위치 (데이터베이스가 없거나 찾지 못하면 null)
+     */
+    public GeoIpLocation lookup(String ip) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null || ip == null) {
+            return null;
+        }
+        GeoIpLocation location = snapshot.cache.get(ip);
+        if (location != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            Integer address = GeoIpDatabase.parseIpv4(ip);
+            location = address != null ? snapshot.database.lookup(address) : null;
+            snapshot.cache.put(ip, location != null ? location : NOT_FOUND);
+        }
+        return location != NOT_FOUND ? location : null;
+    }
+
+    /**
+     * 원본 파일 변경 확인 후 교체
+     */
+    @Scheduled(fixedDelayString = "${ALARM_GEOIP_RELOAD_INTERVAL_MS:60000}")
+    public void reloadIfChanged() {
+        if (databasePath.isBlank()) {
+            return;
+        }
+        try {
+            FileStamp stamp = FileStamp.of(Path.of(databasePath));
+            if (stamp.equals(loadedStamp) || stamp.equals(rejectedStamp)) {
+                pendingStamp = null;
+                return;
+            }
+            if (!stamp.equals(pendingStamp)) {
+                // 아직 쓰는 중일 수 있으므로 다음 확인에서도 그대로인지 본다
+                pendingStamp = stamp;
+                log.info("GeoIP 데이터베이스 변경 감지 - 다음 확인까지 변화가 없으면 교체: {} ({}바이트)",
+                        databasePath, stamp.size());
+                return;
+            }
+            pendingStamp = null;
+            reload();
+        } catch (Exception e) {
+            log.warn("GeoIP 데이터베이스 변경 확인 실패: {} - {}", databasePath, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Snapshot snapshot = current.get();
+        stats.put("enabled", snapshot != null);
+        if (snapshot != null) {
+            stats.put("ranges", snapshot.database.rangeCount());
+            stats.put("locations", snapshot.database.locationCount());
+            stats.put("cached", snapshot.cache.size());
+        }
+        stats.put("cacheHits", hits.get());
+        stats.put("cacheMisses", misses.get());
+        return stats;
+    }
+
+    private synchronized void reload() {
+        Path path = Path.of(databasePath);
+        long started = System.currentTimeMillis();
+        FileStamp stamp = null;
+        try {
+            stamp = FileStamp.of(path);
+            GeoIpDatabase database = GeoIpDatabase.load(path);
+            if (!stamp.equals(FileStamp.of(path))) {
+                // 읽는 도중 파일이 바뀌었다 - 다음 확인에서 다시 안정화를 기다린다
+                log.warn("⚠️ GeoIP 데이터베이스를 읽는 중 파일이 바뀌어 교체 보류: {}", path);
+                return;
+            }
+            Snapshot previous = current.get();
+            if (previous != null && database.rangeCount() < previous.database.rangeCount() * minRangeRatio) {
+                rejectedStamp = stamp;
+                log.error("❌ GeoIP 데이터베이스 구간 수 급감 ({} -> {}) - 잘린 파일로 보고 기존 데이터 유지: {}",
+                        previous.database.rangeCount(), database.rangeCount(), path);
+                return;
+            }
+            // 이전 데이터베이스의 매핑은 진행 중인 조회가 끝나고 참조가 사라지면 해제된다
+            current.set(new Snapshot(database, new LruCache(cacheSize)));
+            loadedStamp = stamp;
+            rejectedStamp = null;
+            log.info("🌍 GeoIP 데이터베이스 로드 완료 - 구간 {}개, 위치 {}개, {}ms: {}",
+                    database.rangeCount(), database.locationCount(), System.currentTimeMillis() - started, path);
+        } catch (Exception e) {
+            rejectedStamp = stamp;
+            log.error("❌ GeoIP 데이터베이스 로드 실패, 기존 데이터 유지: {} - {}", path, e.getMessage(), e);
+        }
+    }
+
+    private record Snapshot(GeoIpDatabase database, LruCache cache) {
+    }
+
+    /**
+     * 원본 파일의 크기와 수정 시각 (변경/안정화 판단용)
+     */
+    private record FileStamp(FileTime modifiedTime, long size) {
+
+        static FileStamp of(Path path) throws IOException {
+            return new FileStamp(Files.getLastModifiedTime(path), Files.size(path));
+        }
+    }
+
+    /**
+     * 접근 순서 기반 LRU 캐시
+     */
+    private static class LruCache {
+
+        private final LinkedHashMap<String, GeoIpLocation> entries;
+
+        LruCache(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, GeoIpLocation> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized GeoIpLocation get(String ip) {
+            return entries.get(ip);
+        }
+
+        synchronized void put(String ip, GeoIpLocation location) {
+            entries.put(ip, location);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
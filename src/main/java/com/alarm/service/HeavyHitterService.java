@@ -0,0 +1,179 @@
+package com.alarm.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * resource-level-false, certified-2time 이벤트의 clientIp / principal 상위 빈도 집계
+ * 토픽마다 고정 길이(tumbling) 시간 창별로 Count-Min Sketch 와 Space-Saving 상위 K 를 유지하며,
+ * 현재 창과 직전 창만 보관하므로 서로 다른 키가 얼마나 많이 들어와도 메모리 사용량은 일정하다.
+ */
+@Slf4j
+@Service
+public class HeavyHitterService {
+
+    public static final String CLIENT_IP = "clientIp";
+    public static final String PRINCIPAL = "principal";
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.of("Asia/Seoul"));
+
+    private final Map<String, TopicSketches> topics = new ConcurrentHashMap<>();
+
+    @Value("${ALARM_HEAVY_HITTER_WINDOW_MS:300000}")
+    private long windowMs;
+
+    @Value("${ALARM_HEAVY_HITTER_EPSILON:0.001}")
+    private double epsilon;
+
+    @Value("${ALARM_HEAVY_HITTER_DELTA:0.01}")
+    private double delta;
+
+    @Value("${ALARM_HEAVY_HITTER_CAPACITY:100}")
+    private int capacity;
+
+    /**
+     * 이벤트 집계 (리소스 레벨, 인증 실패 알람만 대상)
+     */
+    public void record(AlertType alertType, String topic, String clientIp, String principal) {
+        if (alertType != AlertType.RESOURCE_LEVEL && alertType != AlertType.AUTH_FAILURE) {
+            return;
+        }
+        topics.computeIfAbsent(topic, name -> new TopicSketches())
+                .record(System.currentTimeMillis(), clientIp, principal);
+    }
+
+    public Set<String> trackedTopics() {
+        return new TreeSet<>(topics.keySet());
+    }
+
+    /**
+     * 상위 키와 오차 범위
+     *
+     * @param dimension clientIp 또는 principal
+     * @param previous  true 면 직전 창, false 면 현재 창
+     * @return 집계된 적 없는 토픽이면 null
+     */
+    public Map<String, Object> top(String topic, String dimension, boolean previous, int limit) {
+        TopicSketches sketches = topics.get(topic);
+        if (sketches == null) {
+            return null;
+        }
+        return sketches.top(System.currentTimeMillis(), dimension, previous, limit);
+    }
+
+    private final class TopicSketches {
+
+        private Window current = new Window();
+        private Window previous = new Window();
+
+        synchronized void record(long now, String clientIp, String principal) {
+            roll(now);
+            current.record(clientIp, principal);
+        }
+
+        synchronized Map<String, Object> top(long now, String dimension, boolean usePrevious, int limit) {
+            roll(now);
+            Window window = usePrevious ? previous : current;
+            Sketch sketch = PRINCIPAL.equals(dimension) ? window.principals : window.clientIps;
+            long total = sketch.cms.total();
+
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (SpaceSavingTopK.Counter counter : sketch.topK.top(limit)) {
+                long cmsEstimate = sketch.cms.estimate(counter.key());
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("key", counter.key());
+                // 두 요약 모두 과대 추정만 하므로 더 작은 값이 더 정확한 상한이다
+                item.put("estimatedCount", Math.min(counter.count(), cmsEstimate));
+                item.put("guaranteedCount", counter.count() - counter.error());
+                item.put("spaceSavingError", counter.error());
+                item.put("cmsEstimate", cmsEstimate);
+                items.add(item);
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("dimension", PRINCIPAL.equals(dimension) ? PRINCIPAL : CLIENT_IP);
+            result.put("window", usePrevious ? "previous" : "current");
+            result.put("windowStart", window.start > 0 ? TIME_FORMAT.format(Instant.ofEpochMilli(window.start)) : null);
+            result.put("windowEnd", window.start > 0 ? TIME_FORMAT.format(Instant.ofEpochMilli(window.start + windowMs)) : null);
+            result.put("totalEvents", total);
+            result.put("epsilon", epsilon);
+            result.put("delta", delta);
+            // Count-Min 추정치가 실제 건수보다 많을 수 있는 최대치 (확률 1-δ 로 ε·N 이하, 과소 추정은 없음)
+            result.put("cmsErrorBound", (long) Math.ceil(epsilon * total));
+            // 이 건수(N/K)를 넘는 키는 Space-Saving 상위 K 에서 빠지지 않는다
+            result.put("guaranteedThreshold", total / capacity);
+            result.put("items", items);
+            return result;
+        }
+
+        /**
+         * 창이 끝났으면 현재 창을 직전 창으로 넘기고, 배열을 재사용해 새 창을 시작한다
+         */
+        private void roll(long now) {
+            long windowStart = now - Math.floorMod(now, windowMs);
+            if (current.start == windowStart) {
+                return;
+            }
+            Window finished = current;
+            current = previous;
+            current.clear(windowStart);
+            // 한 창 이상 이벤트가 없었으면 직전 창도 비어 있어야 한다
+            previous = finished.start == windowStart - windowMs ? finished : finished.clear(windowStart - windowMs);
+            if (finished.start > 0) {
+                log.debug("상위 빈도 집계 창 전환: {}", TIME_FORMAT.format(Instant.ofEpochMilli(windowStart)));
+            }
+        }
+    }
+
+    private final class Window {
+
+        private final Sketch clientIps = new Sketch();
+        private final Sketch principals = new Sketch();
+        private long start;
+
+        void record(String clientIp, String principal) {
+            if (clientIp != null && !clientIp.isBlank()) {
+                clientIps.add(clientIp);
+            }
+            if (principal != null && !principal.isBlank()) {
+                principals.add(principal);
+            }
+        }
+
+        Window clear(long windowStart) {
+            clientIps.clear();
+            principals.clear();
+            start = windowStart;
+            return this;
+        }
+    }
+
+    private final class Sketch {
+
+        private final CountMinSketch cms = new CountMinSketch(epsilon, delta);
+        private final SpaceSavingTopK topK = new SpaceSavingTopK(capacity);
+
+        void add(String key) {
+            cms.add(key);
+            topK.add(key);
+        }
+
+        void clear() {
+            cms.clear();
+            topK.clear();
+        }
+    }
+}
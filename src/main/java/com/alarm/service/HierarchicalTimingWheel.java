@@ -0,0 +1,192 @@
+package com.alarm.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠 - 예약/취소가 대기 중인 타이머 수와 무관하게 O(1)
+ * 가장 아래 휠은 tickMs 간격 칸 wheelSize 개로 tickMs * wheelSize 범위를 덮고, 그보다 먼 타이머는
+ * 한 칸이 아래 휠 전체 범위인 상위 휠에 넣는다. 상위 휠의 칸 시각이 되면 그 칸의 타이머를 아래 휠로 다시 나눈다.
+ * 만료 시각보다 일찍 만료되지 않도록 한 칸 올림해 배치하므로 최대 2 * tickMs 늦게 만료될 수 있으며, 외부에서 동기화해야 한다.
+ */
+final class HierarchicalTimingWheel<T> {
+
+    private final Level root;
+    private final Bucket<T> ready = new Bucket<>();
+    private int size;
+
+    HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.root = new Level(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * 타이머 예약. 이미 지난 시각이면 다음 advance 에서 바로 만료된다
+     */
+    Timer<T> schedule(long expirationMs, T payload) {
+        Timer<T> timer = new Timer<>(expirationMs, expirationMs + root.tickMs - 1, payload);
+        if (!root.add(timer)) {
+            ready.add(timer);
+        }
+        size++;
+        return timer;
+    }
+
+    /**
+     * 타이머 취소 (이미 만료되었거나 취소된 타이머면 false)
+     */
+    boolean cancel(Timer<T> timer) {
+        if (timer == null || timer.bucket == null) {
+            return false;
+        }
+        timer.bucket.remove(timer);
+        size--;
+        return true;
+    }
+
+    /**
+     * 현재 시각까지 휠을 돌리고 만료된 타이머의 값을 반환
+     */
+    List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        collect(ready, expired);
+        while (root.currentTime + root.tickMs <= nowMs) {
+            root.currentTime += root.tickMs;
+            flush(root, root.currentTime, expired);
+        }
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void flush(Level level, long time, List<T> expired) {
+        Bucket<T> bucket = level.bucketFor(time);
+        Timer<T> timer;
+        while ((timer = bucket.poll()) != null) {
+            // 아래 휠로 다시 나누고, 가장 아래 휠의 현재 칸에 해당하면 만료
+            if (!root.add(timer)) {
+                size--;
+                expired.add(timer.payload);
+            }
+        }
+        Level overflow = level.overflow;
+        if (overflow != null && time >= overflow.currentTime + overflow.tickMs) {
+            overflow.currentTime = time - Math.floorMod(time, overflow.tickMs);
+            flush(overflow, overflow.currentTime, expired);
+        }
+    }
+
+    private void collect(Bucket<T> bucket, List<T> expired) {
+        Timer<T> timer;
+        while ((timer = bucket.poll()) != null) {
+            size--;
+            expired.add(timer.payload);
+        }
+    }
+
+    private final class Level {
+
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket<T>[] buckets;
+        private long currentTime;
+        private Level overflow;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+            this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+        }
+
+        /**
+         * @return 현재 칸에 해당해 바로 만료되어야 하면 false
+         */
+        boolean add(Timer<T> timer) {
+            if (timer.deadline < currentTime + tickMs) {
+                return false;
+            }
+            if (timer.deadline < currentTime + interval) {
+                bucketFor(timer.deadline).add(timer);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, wheelSize, currentTime);
+            }
+            return overflow.add(timer);
+        }
+
+        Bucket<T> bucketFor(long time) {
+            return buckets[(int) Math.floorMod(time / tickMs, (long) wheelSize)];
+        }
+    }
+
+    /**
+     * 예약된 타이머 (취소 시 사용)
+     */
+    static final class Timer<T> {
+
+        private final long expirationMs;
+        // 칸 배치 기준 시각 (만료 시각을 한 칸 올림)
+        private final long deadline;
+        private final T payload;
+        private Bucket<T> bucket;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(long expirationMs, long deadline, T payload) {
+            this.expirationMs = expirationMs;
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+
+        long expirationMs() {
+            return expirationMs;
+        }
+    }
+
+    /**
+     * 센티널 노드를 둔 원형 이중 연결 리스트
+     */
+    private static final class Bucket<T> {
+
+        private final Timer<T> head = new Timer<>(0, 0, null);
+
+        Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(Timer<T> timer) {
+            timer.bucket = this;
+            timer.prev = head.prev;
+            timer.next = head;
+            head.prev.next = timer;
+            head.prev = timer;
+        }
+
+        void remove(Timer<T> timer) {
+            timer.prev.next = timer.next;
+            timer.next.prev = timer.prev;
+            timer.prev = null;
+            timer.next = null;
+            timer.bucket = null;
+        }
+
+        Timer<T> poll() {
+            Timer<T> first = head.next;
+            if (first == head) {
+                return null;
+            }
+            remove(first);
+            return first;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.alarm.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 비동기 이메일 발송(in-flight dispatch)을 파티션별로 추적하고,
+ * 발송이 끝난 레코드까지만 연속적으로 오프셋을 커밋하도록 Acknowledgment 를 호출한다.
+ * 파티션 회수(revoke) 시에는 정해진 기한까지 진행 중인 발송을 기다린 뒤 커밋되도록 한다.
+ */
+@Slf4j
+@Service
+@Order(1)
+public class InFlightDispatchTracker implements ConsumerAwareRebalanceListener {
+
+    private final Map<TopicPartition, PartitionWindow> windows = new ConcurrentHashMap<>();
+
+    @Value("${ALARM_DRAIN_TIMEOUT_MS:20000}")
+    private long drainTimeoutMs;
+
+    /**
+     * 수신한 레코드의 발송 작업을 등록한다.
+     * 발송이 성공/실패 여부와 관계없이 끝나면, 앞선 오프셋이 모두 끝난 경우에만 커밋된다.
+     * acknowledgment 가 null 이면(부하 테스트 합성 레코드) 커밋 없이 진행 중 건수에만 포함된다.
+     */
+    public void track(String topic, int partition, long offset,
+                      Acknowledgment acknowledgment, CompletableFuture<?> dispatch) {
+        TopicPartition topicPartition = new TopicPartition(topic, partition);
+        PartitionWindow window = windows.computeIfAbsent(topicPartition, PartitionWindow::new);
+        window.register(offset, acknowledgment, dispatch);
+        dispatch.whenComplete((result, error) -> window.complete(offset));
+    }
+
+    /**
+     * 모든 파티션의 진행 중인 발송이 끝날 때까지 기다린다.
+     * @return 기한 내에 모두 끝났으면 true
+     */
+    public boolean awaitAll(long timeoutMs) {
+        return awaitDrain(new ArrayList<>(windows.keySet()), timeoutMs);
+    }
+
+    /**
+     * 지정한 파티션들의 진행 중인 발송이 끝날 때까지 기다린다.
+     * 기한을 넘긴 발송은 커밋되지 않으므로 다음 소유자가 다시 처리한다.
+     */
+    public boolean awaitDrain(Collection<TopicPartition> partitions, long timeoutMs) {
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (TopicPartition partition : partitions) {
+            PartitionWindow window = windows.get(partition);
+            if (window != null) {
+                pending.addAll(window.pendingDispatches());
+            }
+        }
+        if (pending.isEmpty()) {
+            return true;
+        }
+
+        log.info("진행 중인 알람 발송 대기 - 파티션: {}, 건수: {}, 제한 시간: {}ms", partitions, pending.size(), timeoutMs);
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0]))
+                    .exceptionally(error -> null)
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            long remaining = pending.stream().filter(future -> !future.isDone()).count();
+            log.warn("⏱️ 발송 대기 시간 초과 - 미완료 {}건은 커밋되지 않고 재처리됩니다: {}", remaining, partitions);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("발송 대기 중 오류: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 현재 진행 중인 발송 건수
+     */
+    public int inFlightCount() {
+        return windows.values().stream().mapToInt(PartitionWindow::size).sum();
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        // 컨테이너가 커밋하기 전에 진행 중인 발송을 마무리해서 완료된 오프셋이 함께 커밋되도록 한다
+        awaitDrain(partitions, drainTimeoutMs);
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        release(partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        // 이미 다른 인스턴스로 넘어간 파티션은 커밋할 수 없으므로 기다리지 않는다
+        log.warn("파티션 유실 - 진행 중인 발송 추적 해제: {}", partitions);
+        release(partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        log.info("파티션 할당: {}", partitions);
+    }
+
+    private void release(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            PartitionWindow window = windows.remove(partition);
+            if (window != null) {
+                window.release();
+            }
+        }
+    }
+
+    /**
+     * 한 파티션에서 아직 커밋되지 않은 오프셋들의 창
+     */
+    private static class PartitionWindow {
+
+        private final TopicPartition topicPartition;
+        private final TreeMap<Long, Entry> entries = new TreeMap<>();
+        private boolean released;
+
+        PartitionWindow(TopicPartition topicPartition) {
+            this.topicPartition = topicPartition;
+        }
+
+        synchronized void register(long offset, Acknowledgment acknowledgment, CompletableFuture<?> dispatch) {
+            entries.put(offset, new Entry(acknowledgment, dispatch));
+        }
+
+        void complete(long offset) {
+            Acknowledgment toAcknowledge = null;
+            synchronized (this) {
+                Entry entry = entries.get(offset);
+                if (entry == null || released) {
+                    return;
+                }
+                entry.done = true;
+
+                // 앞에서부터 연속으로 끝난 오프셋만 떼어내고, 그중 마지막 오프셋을 커밋한다
+                while (!entries.isEmpty() && entries.firstEntry().getValue().done) {
+                    toAcknowledge = entries.pollFirstEntry().getValue().acknowledgment;
+                }
+            }
+            if (toAcknowledge != null) {
+                try {
+                    toAcknowledge.acknowledge();
+                } catch (Exception e) {
+                    log.warn("오프셋 커밋 요청 실패: {} - {}", topicPartition, e.getMessage());
+                }
+            }
+        }
+
+        synchronized List<CompletableFuture<?>> pendingDispatches() {
+            List<CompletableFuture<?>> pending = new ArrayList<>();
+            for (Entry entry : entries.values()) {
+                if (!entry.done) {
+                    pending.add(entry.dispatch);
+                }
+            }
+            return pending;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized void release() {
+            released = true;
+            entries.clear();
+        }
+    }
+
+    private static class Entry {
+
+        private final Acknowledgment acknowledgment;
+        private final CompletableFuture<?> dispatch;
+        private boolean done;
+
+        Entry(Acknowledgment acknowledgment, CompletableFuture<?> dispatch) {
+            this.acknowledgment = acknowledgment;
+            this.dispatch = dispatch;
+        }
+    }
+}
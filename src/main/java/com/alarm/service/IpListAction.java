@@ -0,0 +1,10 @@
+package com.alarm.service;
+
+/**
+ * clientIp 가 IP 목록(CIDR)에 일치할 때의 조치
+ */
+public enum IpListAction {
+    SUPPRESS,   // 알람 발송 생략 (자체 스캐너, 배스천 등)
+    TAG,        // 알람 제목/본문에 목록 정보 표시
+    ESCALATE    // 위험도를 높음으로 올리고 시스템 개발자에게도 발송
+}
@@ -0,0 +1,19 @@
+package com.alarm.service;
+
+/**
+ * clientIp 와 일치한 IP 목록 항목
+ *
+ * @param list   목록 이름 (allowlist, blocklist)
+ * @param action 조치
+ * @param cidr   일치한 가장 긴 CIDR
+ * @param label  목록 파일에 적힌 설명 (없으면 빈 문자열)
+ */
+public record IpListMatch(String list, IpListAction action, String cidr, String label) {
+
+    /**
+     * 알람 본문 표시용 (예: "blocklist 203.0.113.0/24 (알려진 스캐너) -> ESCALATE")
+     */
+    public String describe() {
+        return list + " " + cidr + (label.isEmpty() ? "" : " (" + label + ")") + " -> " + action;
+    }
+}
@@ -0,0 +1,178 @@
+package com.alarm.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * clientIp 를 CIDR 허용 목록(allowlist)/차단 목록(blocklist)과 대조
+ * - 목록 파일은 한 줄에 "CIDR [설명]" 형식이며 # 이후는 주석이다 (IPv4, IPv6 모두 가능)
+ * - 두 목록을 하나의 압축 트라이로 만들어 가장 긴 접두사가 우선하고, 같은 CIDR 은 차단 목록이 우선한다
+ * - 파일이 바뀌면 새 트라이를 만들어 원자적으로 교체한다 (실패 시 기존 목록 유지)
+ */
+@Slf4j
+@Service
+public class IpListService {
+
+    private static final String ALLOWLIST = "allowlist";
+    private static final String BLOCKLIST = "blocklist";
+
+    @Value("${ALARM_IP_ALLOWLIST_PATH:}")
+    private String allowlistPath;
+
+    @Value("${ALARM_IP_ALLOWLIST_ACTION:SUPPRESS}")
+    private IpListAction allowlistAction;
+
+    @Value("${ALARM_IP_BLOCKLIST_PATH:}")
+    private String blocklistPath;
+
+    @Value("${ALARM_IP_BLOCKLIST_ACTION:ESCALATE}")
+    private IpListAction blocklistAction;
+
+    private volatile Snapshot current;
+    private final Map<String, FileTime> loadedModifiedTimes = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        if (allowlistPath.isBlank() && blocklistPath.isBlank()) {
+            log.info("IP 목록 미설정 - clientIp 목록 대조 비활성화");
+            return;
+        }
+        reload();
+    }
+
+    /**
+     * clientIp 와 일치하는 목록 항목 (없으면 null)
+     */
+    public IpListMatch match(String clientIp) {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            return null;
+        }
+        long[] address = CidrTrie.parseAddress(clientIp);
+        if (address == null) {
+            return null;
+        }
+        int node = snapshot.trie.lookup(address[0], address[1]);
+        if (node == CidrTrie.NO_MATCH) {
+            return null;
+        }
+        // 값: (설명 번호 << 1) | 목록 번호(0: 허용, 1: 차단)
+        int value = snapshot.trie.value(node);
+        boolean blocked = (value & 1) == 1;
+        return new IpListMatch(blocked ? BLOCKLIST : ALLOWLIST, blocked ? blocklistAction : allowlistAction,
+                snapshot.trie.cidr(node), snapshot.labels[value >>> 1]);
+    }
+
+    /**
+     * 목록 파일 변경 확인 후 교체
+     */
+    @Scheduled(fixedDelayString = "${ALARM_IP_LIST_RELOAD_INTERVAL_MS:60000}")
+    public void reloadIfChanged() {
+        if (allowlistPath.isBlank() && blocklistPath.isBlank()) {
+            return;
+        }
+        try {
+            if (changed(allowlistPath) || changed(blocklistPath)) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("IP 목록 변경 확인 실패 - {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Snapshot snapshot = current;
+        stats.put("enabled", snapshot != null);
+        if (snapshot != null) {
+            stats.put("allowlistEntries", snapshot.allowlistEntries);
+            stats.put("blocklistEntries", snapshot.blocklistEntries);
+            stats.put("trieNodes", snapshot.trie.nodeCount());
+        }
+        return stats;
+    }
+
+    private synchronized void reload() {
+        long started = System.currentTimeMillis();
+        try {
+            Map<String, FileTime> modifiedTimes = new HashMap<>();
+            CidrTrie.Builder builder = new CidrTrie.Builder();
+            List<String> labels = new ArrayList<>();
+            Map<String, Integer> labelIds = new HashMap<>();
+
+            // 차단 목록을 나중에 넣어 같은 CIDR 이면 차단 목록이 우선하도록 한다
+            int allowlistEntries = readList(allowlistPath, 0, builder, labels, labelIds, modifiedTimes);
+            int blocklistEntries = readList(blocklistPath, 1, builder, labels, labelIds, modifiedTimes);
+
+            CidrTrie trie = builder.build();
+            current = new Snapshot(trie, labels.toArray(new String[0]), allowlistEntries, blocklistEntries);
+            loadedModifiedTimes.clear();
+            loadedModifiedTimes.putAll(modifiedTimes);
+            log.info("🛡️ IP 목록 로드 완료 - 허용 {}개, 차단 {}개, 트라이 노드 {}개, {}ms",
+                    allowlistEntries, blocklistEntries, trie.nodeCount(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("❌ IP 목록 로드 실패, 기존 목록 유지 - {}", e.getMessage(), e);
+        }
+    }
+
+    private int readList(String path, int list, CidrTrie.Builder builder, List<String> labels,
+                         Map<String, Integer> labelIds, Map<String, FileTime> modifiedTimes) throws IOException {
+        if (path.isBlank()) {
+            return 0;
+        }
+        Path file = Path.of(path);
+        modifiedTimes.put(path, Files.getLastModifiedTime(file));
+
+        int added = 0;
+        int invalid = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comment = line.indexOf('#');
+                String entry = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                if (entry.isEmpty()) {
+                    continue;
+                }
+                String[] parts = entry.split("[\\s,]+", 2);
+                String label = parts.length > 1 ? parts[1].trim() : "";
+                Integer labelId = labelIds.get(label);
+                if (labelId == null) {
+                    labelId = labels.size();
+                    labelIds.put(label, labelId);
+                    labels.add(label);
+                }
+                if (builder.add(parts[0], (labelId << 1) | list)) {
+                    added++;
+                } else {
+                    invalid++;
+                }
+            }
+        }
+        if (invalid > 0) {
+            log.warn("⚠️ IP 목록의 잘못된 항목 {}개 무시: {}", invalid, path);
+        }
+        return added;
+    }
+
+    private boolean changed(String path) throws IOException {
+        return !path.isBlank() && !Files.getLastModifiedTime(Path.of(path)).equals(loadedModifiedTimes.get(path));
+    }
+
+    private record Snapshot(CidrTrie trie, String[] labels, int allowlistEntries, int blocklistEntries) {
+    }
+}
@@ -0,0 +1,390 @@
+package com.alarm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 프로세스 내 합성 부하 생성기
+ * 4개 토픽 스키마의 무작위 이벤트를 목표 속도로 생성해 SecurityAlarmConsumer 의 레코드 처리 경로
+ * (중복 확인, IP 목록 대조, 과부하 차단, 최근 알람/상위 빈도/실시간 스트림, 채널 발송, 재알림 예약)에 그대로 주입하고,
+ * 모든 채널 발송이 끝날 때까지의 처리량, 지연시간 백분위, 오류 건수를 측정한다.
+ * - 합성 레코드는 "loadtest." 접두어 토픽으로 들어가며 메모리 전용 파티션 상태를 쓴다 (변경 로그 미기록)
+ * - 메일은 @Async 발송 스레드와 SMTP 동시 발송 한도를 그대로 거친 뒤 실제 SMTP 대신 StubMailSender 로 보내고,
+ *   웹훅 등 외부 채널로는 보내지 않는다
+ * 실제 알람과 같은 자원(발송 스레드, SMTP 한도, 과부하 판단)을 공유하므로 운영 중인 인스턴스에서는 주의해서 실행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoadGeneratorService {
+
+    /**
+     * 부하 테스트 합성 레코드의 토픽 접두어
+     */
+    public static final String SYNTHETIC_TOPIC_PREFIX = "loadtest.";
+
+    private static final DateTimeFormatter EVENT_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+    private static final int QUEUE_CAPACITY = 10_000;
+    // 발송이 끝나지 않은 합성 알람 상한 (넘으면 rejected 로 집계)
+    private static final int MAX_IN_FLIGHT = 10_000;
+    private static final long DRAIN_TIMEOUT_SECONDS = 30;
+    // 발송 간격(ns)이 0 이 되어 페이서가 속도 제한 없이 도는 일이 없도록 상한을 둔다
+    private static final int MAX_RATE_PER_SECOND = 100_000;
+    private static final int MAX_WORKERS = 256;
+    private static final int MAX_DURATION_SECONDS = 3600;
+    private static final long MAX_STUB_LATENCY_MILLIS = 60_000;
+
+    private static final String[] OPERATIONS = {"READ", "READ", "READ", "WRITE", "UPDATE", "DELETE", "ADMIN"};
+    private static final String[] RESOURCE_TYPES = {"REST_API", "REST_API", "TOPIC", "GROUP", "CLUSTER", "SYSTEM"};
+    private static final String[] RESOURCE_NAMES = {"/api/secure/data", "/api/users", "/api/orders", "system/config", "payments", "audit-log"};
+    private static final String[] METHOD_NAMES = {"getResource", "updateResource", "deleteResource", "systemOperation", "Produce", "Fetch"};
+
+    private final SecurityAlarmConsumer securityAlarmConsumer;
+    private final EmailService emailService;
+    private final PartitionStateStore stateStore;
+    private final EscalationService escalationService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<LoadRun> currentRun = new AtomicReference<>();
+
+    @Value("${KAFKA_TOPIC_SYSTEM_LEVEL_FALSE}")
+    private String systemLevelTopic;
+
+    @Value("${KAFKA_TOPIC_RESOURCE_LEVEL_FALSE}")
+    private String resourceLevelTopic;
+
+    @Value("${KAFKA_TOPIC_CERTIFIED_2TIME}")
+    private String certified2TimeTopic;
+
+    @Value("${KAFKA_TOPIC_CERTIFIED_NOTMOVE}")
+    private String certifiedNotMoveTopic;
+
+    /**
+     * 부하 생성 시작 (동시에 하나만 실행 가능)
+     */
+    public Map<String, Object> start(int ratePerSecond, int durationSeconds, int workers,
+                                     long stubLatencyMillis, double stubErrorRate) {
+        if (ratePerSecond <= 0 || durationSeconds <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("rate, durationSeconds, workers 는 1 이상이어야 합니다");
+        }
+        if (ratePerSecond > MAX_RATE_PER_SECOND) {
+            throw new IllegalArgumentException("rate 는 " + MAX_RATE_PER_SECOND + " 이하여야 합니다: " + ratePerSecond);
+        }
+        if (workers > MAX_WORKERS) {
+            throw new IllegalArgumentException("workers 는 " + MAX_WORKERS + " 이하여야 합니다: " + workers);
+        }
+        if (durationSeconds > MAX_DURATION_SECONDS) {
+            throw new IllegalArgumentException("durationSeconds 는 " + MAX_DURATION_SECONDS + " 이하여야 합니다: " + durationSeconds);
+        }
+        if (stubLatencyMillis < 0 || stubLatencyMillis > MAX_STUB_LATENCY_MILLIS) {
+            throw new IllegalArgumentException("stubLatencyMs 는 0 ~ " + MAX_STUB_LATENCY_MILLIS + " 범위여야 합니다");
+        }
+        if (stubErrorRate < 0 || stubErrorRate > 1) {
+            throw new IllegalArgumentException("stubErrorRate 는 0.0 ~ 1.0 범위여야 합니다");
+        }
+
+        LoadRun run = new LoadRun(ratePerSecond, durationSeconds, workers, new StubMailSender(stubLatencyMillis, stubErrorRate),
+                syntheticPartitions());
+        LoadRun previous = currentRun.get();
+        if (previous != null && previous.isRunning()) {
+            throw new IllegalStateException("이미 실행 중인 부하 테스트가 있습니다");
+        }
+        if (!currentRun.compareAndSet(previous, run)) {
+            throw new IllegalStateException("이미 실행 중인 부하 테스트가 있습니다");
+        }
+
+        stateStore.attachInMemory(run.partitions);
+        emailService.useSyntheticMailSender(run.stubMailSender);
+        log.info("🧪 부하 테스트 시작 - 목표: {}건/초, 기간: {}초, 워커: {}, 스텁 지연: {}ms, 스텁 실패율: {}",
+                ratePerSecond, durationSeconds, workers, stubLatencyMillis, stubErrorRate);
+        run.start();
+        return run.snapshot();
+    }
+
+    /**
+     * 현재(또는 마지막) 부하 테스트 결과
+     */
+    public Map<String, Object> status() {
+        LoadRun run = currentRun.get();
+        if (run == null) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("state", "IDLE");
+            return response;
+        }
+        return run.snapshot();
+    }
+
+    /**
+     * 실행 중인 부하 테스트 중단
+     */
+    public Map<String, Object> stop() {
+        LoadRun run = currentRun.get();
+        if (run != null) {
+            run.stop();
+        }
+        return status();
+    }
+
+    /**
+     * 부하 테스트 합성 토픽인지 여부 (실제 SMTP/외부 채널 발송 제외 판단용)
+     */
+    public static boolean isSynthetic(String topic) {
+        return topic != null && topic.startsWith(SYNTHETIC_TOPIC_PREFIX);
+    }
+
+    private String topicFor(AlertType alertType) {
+        return SYNTHETIC_TOPIC_PREFIX + switch (alertType) {
+            case SYSTEM_LEVEL -> systemLevelTopic;
+            case RESOURCE_LEVEL -> resourceLevelTopic;
+            case AUTH_FAILURE -> certified2TimeTopic;
+            case LOCATION_CHANGE -> certifiedNotMoveTopic;
+        };
+    }
+
+    private List<TopicPartition> syntheticPartitions() {
+        return List.of(AlertType.values()).stream()
+                .map(alertType -> new TopicPartition(topicFor(alertType), 0))
+                .toList();
+    }
+
+    /**
+     * 토픽 스키마에 맞는 무작위 이벤트 생성
+     */
+    private String synthesizeEvent(AlertType alertType, long sequence) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String now = LocalDateTime.now().format(EVENT_TIME_FORMAT) + "+09:00";
+        ObjectNode event = objectMapper.createObjectNode();
+        event.put("id", "load-" + alertType.name().toLowerCase() + "-" + sequence);
+        // 실제 트래픽처럼 일부 IP/사용자가 반복되도록 작은 풀에서 선택
+        event.put("clientIp", "10." + random.nextInt(4) + "." + random.nextInt(16) + "." + random.nextInt(1, 255));
+
+        switch (alertType) {
+            case SYSTEM_LEVEL, RESOURCE_LEVEL -> {
+                boolean system = alertType == AlertType.SYSTEM_LEVEL;
+                event.put("eventTimeKST", now);
+                event.put("granted", !system && random.nextInt(10) == 0);
+                event.put("methodName", pick(METHOD_NAMES, random));
+                event.put("operation", system ? "ADMIN" : pick(OPERATIONS, random));
+                event.put("principal", "user" + random.nextInt(500));
+                event.put("processingTimeKST", now);
+                event.put("resourceName", system ? "system/config" : pick(RESOURCE_NAMES, random));
+                event.put("resourceType", system ? "SYSTEM" : pick(RESOURCE_TYPES, random));
+            }
+            case AUTH_FAILURE -> {
+                event.put("alertTimeKST", now);
+                event.put("alertType", "REPEATED_LOGIN_FAILURE");
+                event.put("description", "짧은 시간 내 연속 로그인 실패");
+                event.put("failureCount", random.nextInt(2, 20));
+            }
+            case LOCATION_CHANGE -> {
+                event.put("alertTimeKST", now);
+                event.put("alertType", "IMPOSSIBLE_TRAVEL");
+                event.put("description", "인증 후 비정상적인 위치에서 접근");
+                event.put("failureCount", random.nextInt(1, 5));
+            }
+        }
+        return event.toString();
+    }
+
+    private static String pick(String[] values, ThreadLocalRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * 한 번의 부하 테스트 실행 상태
+     */
+    private class LoadRun {
+
+        private final int ratePerSecond;
+        private final int durationSeconds;
+        private final StubMailSender stubMailSender;
+        private final List<TopicPartition> partitions;
+        private final ThreadPoolExecutor workers;
+        private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        private final Thread pacer;
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong generated = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong offsets = new AtomicLong();
+        private final Map<AlertType, AtomicLong> perType = new EnumMap<>(AlertType.class);
+
+        private volatile String state = "RUNNING";
+        private volatile long startNanos;
+        private volatile long endNanos;
+
+        LoadRun(int ratePerSecond, int durationSeconds, int workerCount, StubMailSender stubMailSender,
+                List<TopicPartition> partitions) {
+            this.ratePerSecond = ratePerSecond;
+            this.durationSeconds = durationSeconds;
+            this.stubMailSender = stubMailSender;
+            this.partitions = partitions;
+            AtomicInteger threadIndex = new AtomicInteger();
+            this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "load-worker-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.pacer = new Thread(this::pace, "load-pacer");
+            this.pacer.setDaemon(true);
+            for (AlertType alertType : AlertType.values()) {
+                perType.put(alertType, new AtomicLong());
+            }
+        }
+
+        void start() {
+            startNanos = System.nanoTime();
+            pacer.start();
+        }
+
+        void stop() {
+            if (isRunning()) {
+                state = "STOPPED";
+                pacer.interrupt();
+            }
+        }
+
+        boolean isRunning() {
+            return "RUNNING".equals(state);
+        }
+
+        /**
+         * 목표 속도에 맞춰 이벤트를 주입한다.
+         * 지연시간은 "예정된 주입 시각" 기준으로 측정해 밀린 작업의 대기 시간도 포함한다 (coordinated omission 방지).
+         */
+        private void pace() {
+            long intervalNanos = 1_000_000_000L / ratePerSecond;
+            long deadline = startNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+            AlertType[] alertTypes = AlertType.values();
+
+            for (long i = 0; isRunning(); i++) {
+                long intended = startNanos + i * intervalNanos;
+                if (intended >= deadline) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    if (Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                }
+
+                AlertType alertType = alertTypes[ThreadLocalRandom.current().nextInt(alertTypes.length)];
+                generated.incrementAndGet();
+                perType.get(alertType).incrementAndGet();
+                try {
+                    workers.execute(() -> dispatch(alertType, intended));
+                } catch (RejectedExecutionException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+
+            workers.shutdown();
+            try {
+                workers.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                // 주입한 알람의 발송이 모두 끝날 때까지 기다린다
+                if (inFlight.tryAcquire(MAX_IN_FLIGHT, DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    inFlight.release(MAX_IN_FLIGHT);
+                }
+            } catch (InterruptedException e) {
+                workers.shutdownNow();
+            }
+            endNanos = System.nanoTime();
+            // 합성 파티션의 중복 방지 기록과 재알림 예약을 정리한다 (이후 합성 재알림은 스텁으로만 간다)
+            escalationService.release(partitions);
+            stateStore.detach(partitions);
+            if (isRunning()) {
+                state = "COMPLETED";
+            }
+            log.info("🧪 부하 테스트 종료 - {}", snapshot());
+        }
+
+        /**
+         * 컨슈머 스레드처럼 레코드 처리 경로에 주입하고, 모든 채널 발송이 끝난 시점에 지연시간을 기록한다
+         */
+        private void dispatch(AlertType alertType, long intendedNanos) {
+            if (!inFlight.tryAcquire()) {
+                rejected.incrementAndGet();
+                return;
+            }
+            CompletableFuture<Void> result;
+            try {
+                long offset = offsets.incrementAndGet();
+                result = securityAlarmConsumer.inject(alertType, synthesizeEvent(alertType, offset),
+                        topicFor(alertType), 0, offset);
+            } catch (Exception e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            result.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    errors.incrementAndGet();
+                } else {
+                    completed.incrementAndGet();
+                }
+                latency.recordNanos(System.nanoTime() - intendedNanos);
+                inFlight.release();
+            });
+        }
+
+        Map<String, Object> snapshot() {
+            long end = endNanos != 0 ? endNanos : System.nanoTime();
+            double elapsedSeconds = Math.max(1e-9, (end - startNanos) / 1e9);
+
+            Map<String, Object> latencyMs = new LinkedHashMap<>();
+            latencyMs.put("p50", latency.percentileMicros(50) / 1000.0);
+            latencyMs.put("p90", latency.percentileMicros(90) / 1000.0);
+            latencyMs.put("p99", latency.percentileMicros(99) / 1000.0);
+            latencyMs.put("p999", latency.percentileMicros(99.9) / 1000.0);
+            latencyMs.put("max", latency.maxMicros() / 1000.0);
+
+            Map<String, Object> byType = new LinkedHashMap<>();
+            perType.forEach((alertType, count) -> byType.put(topicFor(alertType), count.get()));
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("state", state);
+            response.put("targetRatePerSecond", ratePerSecond);
+            response.put("durationSeconds", durationSeconds);
+            response.put("elapsedSeconds", Math.round(elapsedSeconds * 100) / 100.0);
+            response.put("generated", generated.get());
+            response.put("completed", completed.get());
+            response.put("errors", errors.get());
+            response.put("rejected", rejected.get());
+            response.put("queueDepth", workers.getQueue().size());
+            response.put("inFlight", MAX_IN_FLIGHT - inFlight.availablePermits());
+            // 발송 실패는 채널에서 로그로 처리되므로 스텁 발송기 기준으로 센다
+            response.put("stubMailSent", stubMailSender.getSentCount());
+            response.put("stubMailFailed", stubMailSender.getFailedCount());
+            response.put("throughputPerSecond", Math.round(completed.get() / elapsedSeconds * 10) / 10.0);
+            response.put("latencyMs", latencyMs);
+            response.put("generatedByTopic", byType);
+            return response;
+        }
+    }
+}
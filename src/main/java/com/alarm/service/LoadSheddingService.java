@@ -0,0 +1,255 @@
+package com.alarm.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 컨슈머 랙과 발송 대기 건수에 따른 단계적 부하 차단(load shedding)
+ * - 0단계: 모든 알람 발송
+ * - 1단계: resource-level-false 의 정상(NORMAL) 이벤트는 메일 대신 요약 집계
+ * - 2단계: 낮음(LOW) 이벤트까지 요약 집계
+ * system-level-false, certified-2time, certified-notMove 와 중간 이상 위험도 이벤트는 절대 생략하지 않는다.
+ * 랙이 기준의 절반 아래로 회복되면 한 단계씩 내려오고, 0단계로 돌아오면 생략된 알람 요약 메일을 보낸다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoadSheddingService {
+
+    private static final String LAG_METRIC = "records-lag-max";
+    private static final String FETCH_METRIC_GROUP = "consumer-fetch-manager-metrics";
+    private static final int MAX_TRACKED_KEYS = 1000;
+    private static final String OTHER_KEY = "(기타)";
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final InFlightDispatchTracker dispatchTracker;
+    private final EmailService emailService;
+
+    @Value("${ALARM_SHED_LAG_LEVEL1:500}")
+    private long lagLevel1;
+
+    @Value("${ALARM_SHED_LAG_LEVEL2:2000}")
+    private long lagLevel2;
+
+    @Value("${ALARM_SHED_DEPTH_LEVEL1:200}")
+    private long depthLevel1;
+
+    @Value("${ALARM_SHED_DEPTH_LEVEL2:1000}")
+    private long depthLevel2;
+
+    private volatile int level;
+    private volatile long currentLag;
+    private volatile long currentDepth;
+    private volatile LocalDateTime episodeStartedAt;
+
+    private final Map<AlertSeverity, AtomicLong> totalShed = new EnumMap<>(AlertSeverity.class);
+    // 집계(recordShed)는 읽기 잠금으로 동시에, 요약 시 구간 교체는 쓰기 잠금으로 - 교체 중 집계가 사라지지 않는다
+    private final ReentrantReadWriteLock episodeLock = new ReentrantReadWriteLock();
+    private volatile Episode episode = new Episode();
+
+    {
+        for (AlertSeverity severity : AlertSeverity.values()) {
+            totalShed.put(severity, new AtomicLong());
+        }
+    }
+
+    /**
+     * 현재 단계에서 이 이벤트를 발송하지 않고 요약 집계할지 여부
+     */
+    public boolean shouldShed(AlertType alertType, AlertSeverity severity) {
+        if (alertType != AlertType.RESOURCE_LEVEL) {
+            return false;
+        }
+        int currentLevel = level;
+        return (currentLevel >= 1 && severity == AlertSeverity.NORMAL)
+                || (currentLevel >= 2 && severity == AlertSeverity.LOW);
+    }
+
+    /**
+     * 생략된 이벤트를 요약에 반영
+     */
+    public void recordShed(AlertSeverity severity, String principal, String resourceName) {
+        totalShed.get(severity).incrementAndGet();
+        episodeLock.readLock().lock();
+        try {
+            Episode current = episode;
+            current.bySeverity.computeIfAbsent(severity, key -> new LongAdder()).increment();
+            count(current.byPrincipal, principal);
+            count(current.byResource, resourceName);
+        } finally {
+            episodeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 랙/대기 건수를 확인해 단계를 조정한다 (상향은 즉시, 하향은 기준의 절반 아래에서 한 단계씩)
+     */
+    @Scheduled(fixedDelayString = "${ALARM_SHED_EVALUATE_INTERVAL_MS:1000}")
+    public void evaluate() {
+        long lag = maxConsumerLag();
+        long depth = dispatchTracker.inFlightCount();
+        currentLag = lag;
+        currentDepth = depth;
+
+        int target = 0;
+        if (lag >= lagLevel2 || depth >= depthLevel2) {
+            target = 2;
+        } else if (lag >= lagLevel1 || depth >= depthLevel1) {
+            target = 1;
+        }
+
+        int previous = level;
+        if (target > previous) {
+            if (previous == 0) {
+                episodeStartedAt = LocalDateTime.now();
+            }
+            level = target;
+            log.warn("🔻 과부하 감지 - 부하 차단 {}단계 -> {}단계 (랙: {}, 발송 대기: {})", previous, target, lag, depth);
+        } else if (target < previous && recovered(previous, lag, depth)) {
+            level = previous - 1;
+            log.info("🔺 부하 완화 - 부하 차단 {}단계 -> {}단계 (랙: {}, 발송 대기: {})", previous, level, lag, depth);
+            if (level == 0) {
+                sendEpisodeSummary();
+            }
+        }
+    }
+
+    public int level() {
+        return level;
+    }
+
+    /**
+     * 현재 단계, 랙, 임계값, 생략 건수
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("level", level);
+        stats.put("consumerLag", currentLag);
+        stats.put("dispatchDepth", currentDepth);
+        stats.put("thresholds", Map.of(
+                "lagLevel1", lagLevel1, "lagLevel2", lagLevel2,
+                "depthLevel1", depthLevel1, "depthLevel2", depthLevel2));
+
+        Map<String, Long> total = new LinkedHashMap<>();
+        totalShed.forEach((severity, count) -> total.put(severity.name(), count.get()));
+        stats.put("totalShed", total);
+
+        if (level > 0) {
+            Episode current = episode;
+            stats.put("episodeStartedAt", episodeStartedAt.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            stats.put("episodeShed", sum(current.bySeverity));
+            stats.put("episodeTopPrincipals", top(current.byPrincipal, 10));
+            stats.put("episodeTopResources", top(current.byResource, 10));
+        }
+        return stats;
+    }
+
+    private boolean recovered(int currentLevel, long lag, long depth) {
+        long lagThreshold = currentLevel >= 2 ? lagLevel2 : lagLevel1;
+        long depthThreshold = currentLevel >= 2 ? depthLevel2 : depthLevel1;
+        return lag < lagThreshold / 2 && depth < depthThreshold / 2;
+    }
+
+    private long maxConsumerLag() {
+        double maxLag = 0;
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            for (Map<MetricName, ? extends Metric> metrics : container.metrics().values()) {
+                for (Map.Entry<MetricName, ? extends Metric> entry : metrics.entrySet()) {
+                    MetricName name = entry.getKey();
+                    // 토픽/파티션 태그가 없는 컨슈머 전체 기준 최대 랙
+                    if (LAG_METRIC.equals(name.name()) && FETCH_METRIC_GROUP.equals(name.group())
+                            && !name.tags().containsKey("topic")) {
+                        Object value = entry.getValue().metricValue();
+                        if (value instanceof Double lag && !lag.isNaN()) {
+                            maxLag = Math.max(maxLag, lag);
+                        }
+                    }
+                }
+            }
+        }
+        return (long) maxLag;
+    }
+
+    private void sendEpisodeSummary() {
+        Episode finished;
+        episodeLock.writeLock().lock();
+        try {
+            finished = episode;
+            episode = new Episode();
+        } finally {
+            episodeLock.writeLock().unlock();
+        }
+
+        long shed = sum(finished.bySeverity);
+        if (shed > 0) {
+            StringBuilder summary = new StringBuilder();
+            summary.append(String.format("📅 과부하 구간: %s ~ %s%n",
+                    episodeStartedAt.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))));
+            summary.append(String.format("🔢 생략된 알람: %d건%n%n", shed));
+            finished.bySeverity.forEach((severity, count) ->
+                    summary.append(String.format("  - %s: %d건%n", severity.getRiskLevelLabel(), count.sum())));
+            summary.append(String.format("%n👤 상위 사용자:%n"));
+            top(finished.byPrincipal, 10).forEach((principal, count) ->
+                    summary.append(String.format("  - %s: %d건%n", principal, count)));
+            summary.append(String.format("%n📂 상위 리소스:%n"));
+            top(finished.byResource, 10).forEach((resource, count) ->
+                    summary.append(String.format("  - %s: %d건%n", resource, count)));
+
+            emailService.sendShedSummary(shed, summary.toString());
+            log.info("과부하 구간 생략 알람 요약 발송 - {}건", shed);
+        }
+    }
+
+    private static void count(Map<String, LongAdder> counts, String key) {
+        String safeKey = key != null ? key : "N/A";
+        LongAdder adder = counts.get(safeKey);
+        if (adder == null) {
+            // 요약용 집계 키 개수를 제한해 메모리 사용량을 고정
+            adder = counts.size() < MAX_TRACKED_KEYS
+                    ? counts.computeIfAbsent(safeKey, k -> new LongAdder())
+                    : counts.computeIfAbsent(OTHER_KEY, k -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    private static long sum(Map<?, LongAdder> counts) {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private static Map<String, Long> top(Map<String, LongAdder> counts, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * 한 과부하 구간의 생략 집계
+     */
+    private static final class Episode {
+
+        private final Map<AlertSeverity, LongAdder> bySeverity = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byPrincipal = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byResource = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,45 @@
+package com.alarm.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 알람을 해당 토픽을 지원하는 모든 채널로 동시에 발송한다
+ * 채널별 발송은 서로 독립적이므로 느린 채널이 다른 채널을 지연시키지 않는다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+
+    private final List<AlertNotifier> notifiers;
+
+    /**
+     * @return 모든 채널의 발송이 끝나면(성공/실패 무관) 완료되는 future
+     */
+    public CompletableFuture<Void> dispatch(AlertType alertType, String topicName, String messageData,
+                                            IpListMatch ipMatch) {
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        for (AlertNotifier notifier : notifiers) {
+            if (!notifier.supports(alertType)) {
+                continue;
+            }
+            CompletableFuture<Void> send;
+            try {
+                send = notifier.notify(alertType, topicName, messageData, ipMatch);
+            } catch (Exception e) {
+                send = CompletableFuture.failedFuture(e);
+            }
+            sends.add(send.exceptionally(error -> {
+                log.error("❌ [{}] 알람 발송 실패: {} - {}", notifier.channelName(), topicName, error.getMessage());
+                return null;
+            }));
+        }
+        return CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]));
+    }
+}
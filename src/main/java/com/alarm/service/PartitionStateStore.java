@@ -0,0 +1,260 @@
+package com.alarm.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 구독 토픽과 같은 방식으로 파티셔닝된 키-값 상태 저장소
+ * - 상태는 소스 파티션별로 분리되어 해당 파티션을 소유한 인스턴스에만 존재한다
+ * - 모든 변경은 compact 변경 로그 토픽({그룹ID}-{소스토픽}-changelog)의 같은 번호 파티션에 기록된다
+ * - 파티션이 할당되면 레코드 처리 전에 변경 로그를 처음부터 읽어 상태를 복원한다
+ * 변경 로그 토픽을 만들거나 읽을 수 없으면 해당 토픽은 메모리 상태로만 동작하며, 다음 파티션 할당 때 다시 준비를 시도한다
+ */
+@Slf4j
+@Service
+@Order(2)
+@RequiredArgsConstructor
+public class PartitionStateStore implements ConsumerAwareRebalanceListener {
+
+    private static final Duration RESTORE_POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaAdmin kafkaAdmin;
+    private final ConsumerFactory<String, String> consumerFactory;
+
+    private final Map<TopicPartition, Map<String, String>> partitions = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> changelogReady = new ConcurrentHashMap<>();
+
+    @Value("${CONSUMER_GROUP_ID}")
+    private String consumerGroupId;
+
+    @Value("${ALARM_STATE_CHANGELOG_ENABLED:true}")
+    private boolean changelogEnabled;
+
+    @Value("${ALARM_STATE_CHANGELOG_REPLICAS:3}")
+    private int changelogReplicas;
+
+    @Value("${ALARM_STATE_RESTORE_TIMEOUT_MS:30000}")
+    private long restoreTimeoutMs;
+
+    public String get(String topic, int partition, String key) {
+        Map<String, String> state = partitions.get(new TopicPartition(topic, partition));
+        return state != null ? state.get(key) : null;
+    }
+
+    /**
+     * 값 저장. 이 인스턴스가 소유하지 않은 파티션이면 무시하고 false 를 반환한다
+     */
+    public boolean put(String topic, int partition, String key, String value) {
+        Map<String, String> state = partitions.get(new TopicPartition(topic, partition));
+        if (state == null) {
+            return false;
+        }
+        state.put(key, value);
+        writeChangelog(topic, partition, key, value);
+        return true;
+    }
+
+    public boolean delete(String topic, int partition, String key) {
+        Map<String, String> state = partitions.get(new TopicPartition(topic, partition));
+        if (state == null || state.remove(key) == null) {
+            return false;
+        }
+        // 삭제는 tombstone(null) 으로 기록되어 compaction 시 제거된다
+        writeChangelog(topic, partition, key, null);
+        return true;
+    }
+
+    /**
+     * 소유 중인 모든 파티션의 상태 순회 (만료 처리 등)
+     */
+    public void forEachPartition(BiConsumer<TopicPartition, Map<String, String>> action) {
+        partitions.forEach((topicPartition, state) -> action.accept(topicPartition, Collections.unmodifiableMap(state)));
+    }
+
+    /**
+     * 파티션별 상태 건수
+     */
+    public Map<String, Integer> sizes() {
+        Map<String, Integer> sizes = new TreeMap<>();
+        partitions.forEach((topicPartition, state) -> sizes.put(topicPartition.toString(), state.size()));
+        return sizes;
+    }
+
+    /**
+     * 변경 로그 없이 메모리에만 존재하는 파티션 상태 추가 (부하 테스트 합성 토픽용)
+     */
+    void attachInMemory(Collection<TopicPartition> topicPartitions) {
+        topicPartitions.forEach(topicPartition -> partitions.putIfAbsent(topicPartition, new ConcurrentHashMap<>()));
+    }
+
+    void detach(Collection<TopicPartition> topicPartitions) {
+        topicPartitions.forEach(partitions::remove);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> assigned) {
+        List<TopicPartition> toRestore = new ArrayList<>();
+        for (TopicPartition topicPartition : assigned) {
+            if (!partitions.containsKey(topicPartition)) {
+                toRestore.add(topicPartition);
+            }
+        }
+        if (!toRestore.isEmpty()) {
+            restore(toRestore);
+        }
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> revoked) {
+        // 새 소유자가 복원하기 전에 변경 로그 기록을 모두 내보낸다
+        if (changelogEnabled) {
+            kafkaTemplate.flush();
+        }
+        revoked.forEach(partitions::remove);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> lost) {
+        lost.forEach(partitions::remove);
+    }
+
+    private void restore(List<TopicPartition> sourcePartitions) {
+        long started = System.currentTimeMillis();
+        Map<TopicPartition, TopicPartition> changelogToSource = new ConcurrentHashMap<>();
+        for (TopicPartition source : sourcePartitions) {
+            if (ensureChangelog(source.topic())) {
+                changelogToSource.put(new TopicPartition(changelogTopic(source.topic()), source.partition()), source);
+            }
+        }
+
+        Map<TopicPartition, Map<String, String>> restored = new ConcurrentHashMap<>();
+        sourcePartitions.forEach(source -> restored.put(source, new ConcurrentHashMap<>()));
+
+        if (!changelogToSource.isEmpty()) {
+            try {
+                long records = readChangelog(changelogToSource, restored);
+                log.info("📦 파티션 상태 복원 완료 - {}건, {}ms: {}",
+                        records, System.currentTimeMillis() - started, changelogToSource.values());
+            } catch (Exception e) {
+                log.error("❌ 파티션 상태 복원 실패, 빈 상태로 시작: {} - {}", changelogToSource.values(), e.getMessage(), e);
+            }
+        }
+        partitions.putAll(restored);
+    }
+
+    private long readChangelog(Map<TopicPartition, TopicPartition> changelogToSource,
+                               Map<TopicPartition, Map<String, String>> restored) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "5000");
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+
+        long count = 0;
+        long deadline = System.currentTimeMillis() + restoreTimeoutMs;
+        try (Consumer<String, String> restoreConsumer =
+                     consumerFactory.createConsumer(consumerGroupId + "-restore", "state-restore", null, overrides)) {
+            Set<TopicPartition> changelogPartitions = changelogToSource.keySet();
+            restoreConsumer.assign(changelogPartitions);
+            restoreConsumer.seekToBeginning(changelogPartitions);
+            Map<TopicPartition, Long> endOffsets = restoreConsumer.endOffsets(changelogPartitions);
+
+            while (!caughtUp(restoreConsumer, endOffsets)) {
+                if (System.currentTimeMillis() > deadline) {
+                    log.warn("⏱️ 상태 복원 시간 초과 - 일부 상태만 복원됨: {}", changelogPartitions);
+                    break;
+                }
+                for (ConsumerRecord<String, String> record : restoreConsumer.poll(RESTORE_POLL_TIMEOUT)) {
+                    TopicPartition source = changelogToSource.get(new TopicPartition(record.topic(), record.partition()));
+                    Map<String, String> state = restored.get(source);
+                    if (record.value() == null) {
+                        state.remove(record.key());
+                    } else {
+                        state.put(record.key(), record.value());
+                    }
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean caughtUp(Consumer<String, String> restoreConsumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (restoreConsumer.position(end.getKey()) < end.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 소스 토픽과 파티션 수가 같은 compact 변경 로그 토픽을 준비한다
+     */
+    private boolean ensureChangelog(String sourceTopic) {
+        if (!changelogEnabled) {
+            return false;
+        }
+        // 실패는 캐시하지 않고(null) 다음 파티션 할당 때 다시 시도한다
+        return Boolean.TRUE.equals(changelogReady.computeIfAbsent(sourceTopic, topic -> {
+            try {
+                Map<String, TopicDescription> descriptions = kafkaAdmin.describeTopics(topic);
+                int partitionCount = descriptions.get(topic).partitions().size();
+                NewTopic changelog = TopicBuilder.name(changelogTopic(topic))
+                        .partitions(partitionCount)
+                        .replicas(changelogReplicas)
+                        .config(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT)
+                        .build();
+                kafkaAdmin.createOrModifyTopics(changelog);
+                log.info("상태 변경 로그 토픽 준비 완료: {} (파티션 {})", changelog.name(), partitionCount);
+                return true;
+            } catch (Exception e) {
+                log.warn("⚠️ 상태 변경 로그 토픽 준비 실패, 다음 할당 때까지 메모리 상태로만 동작: {} - {}", topic, e.getMessage());
+                return null;
+            }
+        }));
+    }
+
+    private void writeChangelog(String topic, int partition, String key, String value) {
+        if (!Boolean.TRUE.equals(changelogReady.get(topic))) {
+            return;
+        }
+        kafkaTemplate.send(changelogTopic(topic), partition, key, value)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.warn("상태 변경 로그 기록 실패: {}-{} {} - {}", topic, partition, key, error.getMessage());
+                    }
+                });
+    }
+
+    private String changelogTopic(String sourceTopic) {
+        return consumerGroupId + "-" + sourceTopic + "-changelog";
+    }
+}
@@ -0,0 +1,209 @@
+package com.alarm.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 최근 알람 N건을 보관하는 고정 크기 off-heap 링 버퍼
+ * 레코드는 다이렉트 버퍼에 고정 길이 이진 형식으로 저장되고, 반복되는 문자열(topic, clientIp, principal, operation)은
+ * 사전 ID 로 저장된다. 사전은 버퍼 크기와 무관한 고정 상한(ALARM_RECENT_ALERTS_DICTIONARY_SIZE)을 가지므로
+ * 힙 사용량은 버퍼를 늘려도 변하지 않는다. 버퍼에 남아 있는 서로 다른 값이 상한을 넘으면 새 값은 "(기타)"로 기록된다.
+ *
+ * 레코드 레이아웃 (96 bytes):
+ *  0 sequence(8) | 8 timestamp(8) | 16 offset(8) | 24 partition(4) | 28 topic(4) | 32 clientIp(4)
+ *  36 principal(4) | 40 operation(4) | 44 alertType(1) | 45 severity(1) | 46 idLength(1) | 47 eventId(49)
+ *
+ * 쓰기는 직렬화되고, 읽기는 잠금 없이 레코드별 순번(seqlock)으로 일관성을 확인한다.
+ */
+@Slf4j
+@Service
+public class RecentAlertBuffer {
+
+    private static final int RECORD_SIZE = 96;
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int OFFSET = 16;
+    private static final int PARTITION = 24;
+    private static final int TOPIC = 28;
+    private static final int CLIENT_IP = 32;
+    private static final int PRINCIPAL = 36;
+    private static final int OPERATION = 40;
+    private static final int ALERT_TYPE = 44;
+    private static final int SEVERITY = 45;
+    private static final int ID_LENGTH = 46;
+    private static final int EVENT_ID = 47;
+    private static final int MAX_ID_LENGTH = RECORD_SIZE - EVENT_ID;
+
+    private static final long WRITING = -1L;
+    private static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.of("Asia/Seoul"));
+    private static final AlertType[] ALERT_TYPES = AlertType.values();
+    private static final AlertSeverity[] SEVERITIES = AlertSeverity.values();
+
+    @Value("${ALARM_RECENT_ALERTS_CAPACITY:10000}")
+    private int capacity;
+
+    @Value("${ALARM_RECENT_ALERTS_DICTIONARY_SIZE:4096}")
+    private int dictionarySize;
+
+    private ByteBuffer buffer;
+    private StringDictionary topics;
+    private StringDictionary clientIps;
+    private StringDictionary principals;
+    private StringDictionary operations;
+    private volatile long head;
+
+    @PostConstruct
+    void init() {
+        // 순번 필드를 원자적으로 읽고 쓰기 위해 8바이트 경계에 맞춘다
+        buffer = ByteBuffer.allocateDirect(capacity * RECORD_SIZE + Long.BYTES)
+                .alignedSlice(Long.BYTES)
+                .order(ByteOrder.nativeOrder());
+        // 사전 크기는 버퍼 크기와 무관하게 고정 - 버퍼에 남아 있는 레코드가 참조하는 항목은 재사용되지 않는다
+        topics = new StringDictionary(dictionarySize);
+        clientIps = new StringDictionary(dictionarySize);
+        principals = new StringDictionary(dictionarySize);
+        operations = new StringDictionary(dictionarySize);
+        log.info("최근 알람 링 버퍼 할당 - {}건, off-heap {}KB, 문자열 사전 {}개", capacity,
+                (long) capacity * RECORD_SIZE / 1024, dictionarySize);
+    }
+
+    /**
+     * 알람 레코드 추가 (가장 오래된 레코드를 덮어쓴다)
+     */
+    public synchronized void append(String topic, int partition, long offset, AlertType alertType, AlertSeverity severity,
+                                    String eventId, String clientIp, String principal, String operation) {
+        long sequence = head + 1;
+        long reusableBefore = sequence - capacity + 1;
+        int base = slotOf(sequence);
+
+        LONG_VIEW.set(buffer, base + SEQUENCE, WRITING);
+        VarHandle.storeStoreFence();
+
+        buffer.putLong(base + TIMESTAMP, System.currentTimeMillis());
+        buffer.putLong(base + OFFSET, offset);
+        buffer.putInt(base + PARTITION, partition);
+        buffer.putInt(base + TOPIC, encode(topics, topic, sequence, reusableBefore));
+        buffer.putInt(base + CLIENT_IP, encode(clientIps, clientIp, sequence, reusableBefore));
+        buffer.putInt(base + PRINCIPAL, encode(principals, principal, sequence, reusableBefore));
+        buffer.putInt(base + OPERATION, encode(operations, operation, sequence, reusableBefore));
+        buffer.put(base + ALERT_TYPE, (byte) alertType.ordinal());
+        buffer.put(base + SEVERITY, (byte) severity.ordinal());
+
+        // 이벤트 ID 는 ASCII 로 최대 49바이트까지 저장 (할당 없이 복사)
+        int length = eventId == null ? 0 : Math.min(eventId.length(), MAX_ID_LENGTH);
+        buffer.put(base + ID_LENGTH, (byte) length);
+        for (int i = 0; i < length; i++) {
+            char c = eventId.charAt(i);
+            buffer.put(base + EVENT_ID + i, (byte) (c < 128 ? c : '?'));
+        }
+
+        LONG_VIEW.setRelease(buffer, base + SEQUENCE, sequence);
+        head = sequence;
+    }
+
+    /**
+     * 최신순으로 조건에 맞는 레코드를 최대 limit 건 반환
+     * 필터 필드만 먼저 읽어 비교하고, 일치하는 레코드만 객체로 만든다
+     *
+     * @param topic    토픽 이름 (null 이면 전체)
+     * @param severity 위험도 (null 이면 전체)
+     */
+    public List<Map<String, Object>> recent(String topic, AlertSeverity severity, int limit) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        long newest = head;
+        long oldest = Math.max(1, newest - capacity + 1);
+
+        for (long sequence = newest; sequence >= oldest && results.size() < limit; sequence--) {
+            int base = slotOf(sequence);
+            long before = (long) LONG_VIEW.getAcquire(buffer, base + SEQUENCE);
+            if (before != sequence) {
+                if (before > sequence) {
+                    break; // 이미 더 최신 레코드로 덮어써짐 - 이후 레코드도 모두 덮어써진 상태
+                }
+                continue;
+            }
+
+            if (severity != null && buffer.get(base + SEVERITY) != severity.ordinal()) {
+                continue;
+            }
+            String topicName = topics.lookup(buffer.getInt(base + TOPIC));
+            if (topic != null && !topic.equals(topicName)) {
+                continue;
+            }
+
+            Map<String, Object> alert = readRecord(base, sequence, topicName);
+            VarHandle.loadLoadFence();
+            if ((long) LONG_VIEW.getAcquire(buffer, base + SEQUENCE) == sequence) {
+                results.add(alert);
+            }
+        }
+        return results;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long totalWritten() {
+        return head;
+    }
+
+    /**
+     * 사전 상한에 걸려 "(기타)"로 기록된 값의 수 (값 종류별)
+     */
+    public Map<String, Object> dictionaryStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", dictionarySize);
+        stats.put("topicOverflows", topics.overflows());
+        stats.put("clientIpOverflows", clientIps.overflows());
+        stats.put("principalOverflows", principals.overflows());
+        stats.put("operationOverflows", operations.overflows());
+        return stats;
+    }
+
+    private Map<String, Object> readRecord(int base, long sequence, String topicName) {
+        int idLength = buffer.get(base + ID_LENGTH);
+        char[] eventId = new char[idLength];
+        for (int i = 0; i < idLength; i++) {
+            eventId[i] = (char) buffer.get(base + EVENT_ID + i);
+        }
+
+        Map<String, Object> alert = new LinkedHashMap<>();
+        alert.put("sequence", sequence);
+        alert.put("time", TIME_FORMAT.format(Instant.ofEpochMilli(buffer.getLong(base + TIMESTAMP))));
+        alert.put("topic", topicName);
+        alert.put("partition", buffer.getInt(base + PARTITION));
+        alert.put("offset", buffer.getLong(base + OFFSET));
+        alert.put("alertType", ALERT_TYPES[buffer.get(base + ALERT_TYPE)].name());
+        alert.put("severity", SEVERITIES[buffer.get(base + SEVERITY)].name());
+        alert.put("eventId", new String(eventId));
+        alert.put("clientIp", clientIps.lookup(buffer.getInt(base + CLIENT_IP)));
+        alert.put("principal", principals.lookup(buffer.getInt(base + PRINCIPAL)));
+        alert.put("operation", operations.lookup(buffer.getInt(base + OPERATION)));
+        return alert;
+    }
+
+    private int slotOf(long sequence) {
+        return (int) ((sequence - 1) % capacity) * RECORD_SIZE;
+    }
+
+    private static int encode(StringDictionary dictionary, String value, long sequence, long reusableBefore) {
+        return value == null ? -1 : dictionary.encode(value, sequence, reusableBefore);
+    }
+}
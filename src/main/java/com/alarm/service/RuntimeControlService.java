@@ -0,0 +1,234 @@
+package com.alarm.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 재시작 없이 리스너 컨테이너와 발송 한도를 조정하는 운영 제어
+ * - 리스너별 일시 중지/재개 (파티션 할당은 유지되어 리밸런싱이 일어나지 않는다)
+ * - 리스너별 컨슈머 스레드 수 변경 (해당 컨테이너만 정상 종료 후 다시 시작 - 진행 중인 발송은 마무리 후 커밋)
+ * - SMTP 동시 발송 최대 한도 변경 (@Async 메일 발송 스레드 수도 같은 값으로 맞춘다)
+ * 변경 내용은 로그와 최근 변경 이력에 남으며, 재시작하면 설정값으로 돌아간다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RuntimeControlService {
+
+    private static final int MAX_CONCURRENCY = 32;
+    private static final int HISTORY_SIZE = 50;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final AdaptiveConcurrencyLimiter smtpLimiter;
+    // @Async 메일 발송 실행기 (Spring Boot 기본 applicationTaskExecutor, 시작 시 ALARM_SMTP_LIMIT_MAX 스레드)
+    private final ThreadPoolTaskExecutor mailExecutor;
+
+    // 최근 변경 이력 (최신순, this 로 동기화)
+    private final Deque<Map<String, Object>> history = new ArrayDeque<>();
+    // 컨테이너 재시작은 오래 걸릴 수 있어 이력/헬스체크와 다른 잠금으로 직렬화한다
+    private final Object reconfigureLock = new Object();
+
+    /**
+     * 리스너 컨테이너별 상태와 컨슈머별 파티션 할당
+     */
+    public List<Map<String, Object>> listeners() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (String listenerId : new TreeSet<>(registry.getListenerContainerIds())) {
+            MessageListenerContainer container = registry.getListenerContainer(listenerId);
+            if (container == null) {
+                continue;
+            }
+            Map<String, Object> info = describe(container);
+            Map<String, List<String>> assignments = new TreeMap<>();
+            Map<String, Collection<TopicPartition>> byClientId = container.getAssignmentsByClientId();
+            if (byClientId != null) {
+                byClientId.forEach((clientId, partitions) -> {
+                    List<String> names = new ArrayList<>();
+                    if (partitions != null) {
+                        partitions.forEach(partition -> names.add(partition.toString()));
+                    }
+                    names.sort(null);
+                    assignments.put(clientId, names);
+                });
+            }
+            info.put("groupId", container.getGroupId());
+            info.put("topics", container.getContainerProperties().getTopics() != null
+                    ? Arrays.asList(container.getContainerProperties().getTopics())
+                    : List.of());
+            info.put("assignments", assignments);
+            result.add(info);
+        }
+        return result;
+    }
+
+    /**
+     * 리스너 수신 일시 중지
+     * @return 없는 리스너면 null
+     */
+    public Map<String, Object> pause(String listenerId, String requestedBy) {
+        MessageListenerContainer container = registry.getListenerContainer(listenerId);
+        if (container == null) {
+            return null;
+        }
+        container.pause();
+        record("pause", listenerId, null, null, requestedBy);
+        log.info("⏸️ 리스너 일시 중지: {} (요청: {})", listenerId, requestedBy);
+        return describe(container);
+    }
+
+    /**
+     * 리스너 수신 재개
+     * @return 없는 리스너면 null
+     */
+    public Map<String, Object> resume(String listenerId, String requestedBy) {
+        MessageListenerContainer container = registry.getListenerContainer(listenerId);
+        if (container == null) {
+            return null;
+        }
+        container.resume();
+        record("resume", listenerId, null, null, requestedBy);
+        log.info("▶️ 리스너 재개: {} (요청: {})", listenerId, requestedBy);
+        return describe(container);
+    }
+
+    /**
+     * 리스너 컨슈머 스레드 수 변경 - 실행 중이면 해당 컨테이너만 다시 시작한다
+     * (일시 중지 상태는 다시 시작한 뒤에도 유지된다)
+     * @return 없는 리스너면 null
+     */
+    public Map<String, Object> updateConcurrency(String listenerId, int concurrency, String requestedBy) {
+        if (concurrency < 1 || concurrency > MAX_CONCURRENCY) {
+            throw new IllegalArgumentException("컨슈머 스레드 수는 1~" + MAX_CONCURRENCY + " 사이여야 합니다: " + concurrency);
+        }
+        MessageListenerContainer container = registry.getListenerContainer(listenerId);
+        if (container == null) {
+            return null;
+        }
+        if (!(container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent)) {
+            throw new IllegalStateException("컨슈머 스레드 수를 바꿀 수 없는 컨테이너입니다: " + listenerId);
+        }
+
+        int previous;
+        synchronized (reconfigureLock) {
+            previous = concurrent.getConcurrency();
+            if (previous != concurrency) {
+                boolean running = concurrent.isRunning();
+                long started = System.currentTimeMillis();
+                if (running) {
+                    // stop() 은 회수 리스너(InFlightDispatchTracker)가 진행 중인 발송을 마무리하고 커밋할 때까지 기다린다
+                    concurrent.stop();
+                }
+                concurrent.setConcurrency(concurrency);
+                if (running) {
+                    concurrent.start();
+                }
+                log.info("🔧 리스너 컨슈머 스레드 수 변경: {} {} -> {} (재시작 {}ms, 요청: {})",
+                        listenerId, previous, concurrency, System.currentTimeMillis() - started, requestedBy);
+            }
+        }
+        record("concurrency", listenerId, previous, concurrency, requestedBy);
+        return describe(container);
+    }
+
+    /**
+     * SMTP 동시 발송 최대 한도 변경
+     * 발송 실행기는 대기열이 무제한이라 코어 스레드 수 이상으로 늘어나지 않으므로, 한도만 올리면 실제 동시 발송은
+     * 시작 시 스레드 수에 묶인다. 그래서 코어 스레드 수도 새 한도에 맞춘다 (줄이면 남는 스레드는 하던 발송을 마치고 종료).
+     */
+    public Map<String, Object> updateSmtpMaxLimit(int maxLimit, String requestedBy) {
+        int previous;
+        int previousPoolSize;
+        synchronized (reconfigureLock) {
+            previous = smtpLimiter.updateMaxLimit(maxLimit);
+            previousPoolSize = mailExecutor.getCorePoolSize();
+            if (mailExecutor.getMaxPoolSize() < maxLimit) {
+                mailExecutor.setMaxPoolSize(maxLimit);
+            }
+            mailExecutor.setCorePoolSize(maxLimit);
+        }
+        record("smtpMaxLimit", null, previous, maxLimit, requestedBy);
+        log.info("🔧 SMTP 동시 발송 최대 한도 변경: {} -> {}, 발송 스레드: {} -> {} (요청: {})",
+                previous, maxLimit, previousPoolSize, maxLimit, requestedBy);
+        Map<String, Object> stats = smtpLimiter.stats();
+        stats.put("mailPoolSize", mailExecutor.getCorePoolSize());
+        return stats;
+    }
+
+    /**
+     * 최근 변경 이력 (최신순)
+     */
+    public synchronized List<Map<String, Object>> history() {
+        return new ArrayList<>(history);
+    }
+
+    /**
+     * 헬스체크용 요약 - 리스너별 실행/일시 중지/스레드 수와 마지막 변경
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> listeners = new TreeMap<>();
+        for (String listenerId : registry.getListenerContainerIds()) {
+            MessageListenerContainer container = registry.getListenerContainer(listenerId);
+            if (container != null) {
+                listeners.put(listenerId, describe(container));
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("listeners", listeners);
+        synchronized (this) {
+            stats.put("changes", history.size());
+            stats.put("lastChange", history.peekFirst());
+        }
+        return stats;
+    }
+
+    private Map<String, Object> describe(MessageListenerContainer container) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("listenerId", container.getListenerId());
+        info.put("running", container.isRunning());
+        info.put("pauseRequested", container.isPauseRequested());
+        info.put("paused", container.isContainerPaused());
+        if (container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent) {
+            info.put("concurrency", concurrent.getConcurrency());
+        }
+        return info;
+    }
+
+    private synchronized void record(String action, String listenerId, Integer previous, Integer value,
+                                     String requestedBy) {
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("time", LocalDateTime.now().format(TIME_FORMAT));
+        change.put("action", action);
+        if (listenerId != null) {
+            change.put("listenerId", listenerId);
+        }
+        if (value != null) {
+            change.put("previous", previous);
+            change.put("value", value);
+        }
+        change.put("requestedBy", requestedBy);
+        history.addFirst(change);
+        if (history.size() > HISTORY_SIZE) {
+            history.removeLast();
+        }
+    }
+}
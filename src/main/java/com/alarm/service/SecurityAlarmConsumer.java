@@ -1,114 +1,198 @@
 package com.alarm.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SecurityAlarmConsumer {
 
-    private final EmailService emailService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final InFlightDispatchTracker dispatchTracker;
+    private final AlertDeduplicator alertDeduplicator;
+    private final RecentAlertBuffer recentAlertBuffer;
+    private final LoadSheddingService loadSheddingService;
+    private final IpListService ipListService;
+    private final AlertStreamService alertStreamService;
+    private final HeavyHitterService heavyHitterService;
+    private final EscalationService escalationService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * system-level-false 토픽 구독
      * 시스템 개발자에게 알람 발송
      */
-    @KafkaListener(topics = "${KAFKA_TOPIC_SYSTEM_LEVEL_FALSE}", groupId = "${CONSUMER_GROUP_ID}")
+    @KafkaListener(id = "systemLevelFalse", topics = "${KAFKA_TOPIC_SYSTEM_LEVEL_FALSE}", groupId = "${CONSUMER_GROUP_ID}")
     public void consumeSystemLevelFalse(
             @Payload String message,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
+            @Header(KafkaHeaders.OFFSET) long offset,
+            Acknowledgment acknowledgment) {
         
         log.info("🚨 [SYSTEM LEVEL] 보안 이벤트 수신 - 토픽: {}, 파티션: {}, 오프셋: {}", topic, partition, offset);
         log.info("수신 데이터: {}", message);
         
-        try {
-            // 시스템 개발자에게 이메일 발송
-            emailService.sendSystemLevelAlert(topic, message);
-            log.info("✅ 시스템 레벨 보안 알람 처리 완료: {}", topic);
-        } catch (Exception e) {
-            log.error("❌ 시스템 레벨 보안 알람 처리 실패: {} - {}", topic, e.getMessage(), e);
-        }
+        // 시스템 개발자에게 알람 발송 (이메일 + 설정된 추가 채널)
+        handle(AlertType.SYSTEM_LEVEL, "시스템 레벨", message, topic, partition, offset, acknowledgment);
     }
 
     /**
      * resource-level-false 토픽 구독
      * 유저/리소스 개발자에게 알람 발송
      */
-    @KafkaListener(topics = "${KAFKA_TOPIC_RESOURCE_LEVEL_FALSE}", groupId = "${CONSUMER_GROUP_ID}")
+    @KafkaListener(id = "resourceLevelFalse", topics = "${KAFKA_TOPIC_RESOURCE_LEVEL_FALSE}", groupId = "${CONSUMER_GROUP_ID}")
     public void consumeResourceLevelFalse(
             @Payload String message,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
+            @Header(KafkaHeaders.OFFSET) long offset,
+            Acknowledgment acknowledgment) {
         
         log.info("⚠️ [RESOURCE LEVEL] 보안 이벤트 수신 - 토픽: {}, 파티션: {}, 오프셋: {}", topic, partition, offset);
         log.info("수신 데이터: {}", message);
         
-        try {
-            // 유저/리소스 개발자에게 이메일 발송
-            emailService.sendResourceLevelAlert(topic, message);
-            log.info("✅ 리소스 레벨 보안 알람 처리 완료: {}", topic);
-        } catch (Exception e) {
-            log.error("❌ 리소스 레벨 보안 알람 처리 실패: {} - {}", topic, e.getMessage(), e);
-        }
+        // 유저/리소스 개발자에게 알람 발송 (이메일 + 설정된 추가 채널)
+        handle(AlertType.RESOURCE_LEVEL, "리소스 레벨", message, topic, partition, offset, acknowledgment);
     }
 
     /**
      * certified-2time 토픽 구독
      * 유저/리소스 개발자에게 알람 발송
      */
-    @KafkaListener(topics = "${KAFKA_TOPIC_CERTIFIED_2TIME}", groupId = "${CONSUMER_GROUP_ID}")
+    @KafkaListener(id = "certified2Time", topics = "${KAFKA_TOPIC_CERTIFIED_2TIME}", groupId = "${CONSUMER_GROUP_ID}")
     public void consumeCertified2Time(
             @Payload String message,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
+            @Header(KafkaHeaders.OFFSET) long offset,
+            Acknowledgment acknowledgment) {
         
         log.info("⚠️ [CERTIFIED 2TIME] 보안 이벤트 수신 - 토픽: {}, 파티션: {}, 오프셋: {}", topic, partition, offset);
         log.info("수신 데이터: {}", message);
         
-        try {
-            // 인증 실패 전용 이메일 발송
-            emailService.sendAuthFailureAlert(topic, message);
-            log.info("✅ 인증 2회 시도 보안 알람 처리 완료: {}", topic);
-        } catch (Exception e) {
-            log.error("❌ 인증 2회 시도 보안 알람 처리 실패: {} - {}", topic, e.getMessage(), e);
-        }
+        // 인증 실패 전용 알람 발송
+        handle(AlertType.AUTH_FAILURE, "인증 2회 시도", message, topic, partition, offset, acknowledgment);
     }
 
     /**
      * certified-notMove 토픽 구독
      * 유저/리소스 개발자에게 알람 발송
      */
-    @KafkaListener(topics = "${KAFKA_TOPIC_CERTIFIED_NOTMOVE}", groupId = "${CONSUMER_GROUP_ID}")
+    @KafkaListener(id = "certifiedNotMove", topics = "${KAFKA_TOPIC_CERTIFIED_NOTMOVE}", groupId = "${CONSUMER_GROUP_ID}")
     public void consumeCertifiedNotMove(
             @Payload String message,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
+            @Header(KafkaHeaders.OFFSET) long offset,
+            Acknowledgment acknowledgment) {
         
         log.info("⚠️ [CERTIFIED NOT MOVE] 보안 이벤트 수신 - 토픽: {}, 파티션: {}, 오프셋: {}", topic, partition, offset);
         log.info("수신 데이터: {}", message);
         
-        try {
-            // 위치 변경 전용 이메일 발송
-            emailService.sendLocationChangeAlert(topic, message);
-            log.info("✅ 인증 후 미이동 보안 알람 처리 완료: {}", topic);
-        } catch (Exception e) {
-            log.error("❌ 인증 후 미이동 보안 알람 처리 실패: {} - {}", topic, e.getMessage(), e);
-        }
+        // 위치 변경 전용 알람 발송
+        handle(AlertType.LOCATION_CHANGE, "인증 후 미이동", message, topic, partition, offset, acknowledgment);
     }
-}
 
+    /**
+     * 부하 테스트용 주입 (LoadGeneratorService) - 리스너와 같은 처리 경로를 탄다
+     * 커밋할 오프셋은 없지만 발송 대기 건수(과부하 판단)에는 포함되도록 추적한다
+     *
+     * @return 모든 채널 발송이 끝나면(또는 생략/요약 처리되면) 완료되는 future
+     */
+    CompletableFuture<Void> inject(AlertType alertType, String message, String topic, int partition, long offset) {
+        CompletableFuture<Void> result = process(alertType, "부하 테스트", message, topic, partition, offset);
+        dispatchTracker.track(topic, partition, offset, null, result);
+        return result;
+    }
+
+    /**
+     * 처리 결과가 끝나면 오프셋을 커밋하도록 추적한다
+     */
+    private void handle(AlertType alertType, String label, String message, String topic, int partition, long offset,
+                        Acknowledgment acknowledgment) {
+        dispatchTracker.track(topic, partition, offset, acknowledgment,
+                process(alertType, label, message, topic, partition, offset));
+    }
+
+    /**
+     * 공통 처리: 중복 확인 -> IP 목록 대조 -> 최근 알람 기록, 상위 빈도 집계 -> (목록 억제, 과부하 시 낮은 위험도 요약) -> 채널 발송 -> 실시간 스트림 게시 -> 발송 완료 후 중복 방지 기록, 미확인 재알림 예약 (오프셋 커밋은 반환한 future 기준)
+     */
+    private CompletableFuture<Void> process(AlertType alertType, String label, String message, String topic,
+                                           int partition, long offset) {
+        try {
+            JsonNode event = parseEvent(message);
+            String eventId = textOf(event, "id");
+            if (alertDeduplicator.isDuplicate(topic, partition, eventId)) {
+                log.info("⏭️ 이미 발송된 {} 보안 이벤트 - 알람 생략: {} (ID: {})", label, topic, eventId);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            String clientIp = textOf(event, "clientIp");
+            IpListMatch ipMatch = ipListService.match(clientIp);
+            AlertSeverity severity = ipMatch != null && ipMatch.action() == IpListAction.ESCALATE
+                    ? AlertSeverity.HIGH
+                    : AlertSeverity.classify(alertType, event);
+            String principal = textOf(event, "principal");
+            String operation = textOf(event, "operation");
+            recentAlertBuffer.append(topic, partition, offset, alertType, severity, eventId, clientIp, principal, operation);
+            heavyHitterService.record(alertType, topic, clientIp, principal);
 
+            if (ipMatch != null && ipMatch.action() == IpListAction.SUPPRESS) {
+                alertStreamService.publish(topic, partition, offset, alertType, severity, eventId,
+                        clientIp, principal, operation, "SUPPRESSED");
+                log.info("🔕 IP 목록 일치로 {} 보안 알람 생략: {} (ID: {}, {})", label, topic, eventId, ipMatch.describe());
+                return CompletableFuture.completedFuture(null);
+            }
 
+            if (loadSheddingService.shouldShed(alertType, severity)) {
+                // 과부하 중에는 낮은 위험도 알람을 개별 발송하지 않고 요약에 집계 (회복 시 요약 메일 발송)
+                loadSheddingService.recordShed(severity, principal, textOf(event, "resourceName"));
+                alertStreamService.publish(topic, partition, offset, alertType, severity, eventId,
+                        clientIp, principal, operation, "SHED");
+                log.info("⏬ 과부하로 {} 보안 알람 요약 처리: {} (ID: {}, 위험도: {})", label, topic, eventId, severity);
+                return CompletableFuture.completedFuture(null);
+            }
 
+            CompletableFuture<Void> dispatch = notificationDispatcher.dispatch(alertType, topic, message, ipMatch)
+                    .thenRun(() -> {
+                        alertDeduplicator.markDispatched(topic, partition, eventId);
+                        escalationService.register(alertType, topic, partition, eventId, operation, message, ipMatch);
+                    });
+            alertStreamService.publish(topic, partition, offset, alertType, severity, eventId,
+                    clientIp, principal, operation, "DISPATCHED");
+            log.info("✅ {} 보안 알람 처리 완료: {}", label, topic);
+            return dispatch;
+        } catch (Exception e) {
+            log.error("❌ {} 보안 알람 처리 실패: {} - {}", label, topic, e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
+    /**
+     * JSON 파싱 (실패 시 null - 발송은 원본 데이터로 계속 진행)
+     */
+    private JsonNode parseEvent(String message) {
+        try {
+            return objectMapper.readTree(message);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String textOf(JsonNode event, String fieldName) {
+        JsonNode node = event != null ? event.get(fieldName) : null;
+        return node != null && !node.isNull() ? node.asText() : null;
+    }
+}
@@ -0,0 +1,90 @@
+package com.alarm.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 상위 K 집계 - 최대 capacity 개의 키만 추적한다
+ * 자리가 없으면 가장 작은 카운터의 키를 새 키로 바꾸고 (최솟값 + 1) 로 시작하며, 그 최솟값을 오차로 기록한다.
+ * 빈도가 N/capacity 를 넘는 키는 반드시 추적되고, 각 카운트의 과대 추정은 기록된 오차 이하이다.
+ * 호출자가 동기화해야 한다.
+ */
+final class SpaceSavingTopK {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    SpaceSavingTopK(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    void add(String key) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Counter(key, 1, 0));
+            return;
+        }
+        Counter min = null;
+        for (Counter candidate : counters.values()) {
+            if (min == null || candidate.count < min.count) {
+                min = candidate;
+            }
+        }
+        counters.remove(min.key);
+        // 객체를 새로 만들지 않고 가장 작은 카운터를 재사용한다
+        long evictedCount = min.count;
+        min.key = key;
+        min.error = evictedCount;
+        min.count = evictedCount + 1;
+        counters.put(key, min);
+    }
+
+    /**
+     * 카운트 내림차순 상위 limit 개 (key, count, error)
+     */
+    List<Counter> top(int limit) {
+        List<Counter> sorted = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            sorted.add(new Counter(counter.key, counter.count, counter.error));
+        }
+        sorted.sort(Comparator.comparingLong((Counter counter) -> counter.count).reversed());
+        return sorted.size() > limit ? sorted.subList(0, limit) : sorted;
+    }
+
+    void clear() {
+        counters.clear();
+    }
+
+    static final class Counter {
+
+        private String key;
+        private long count;
+        private long error;
+
+        Counter(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        String key() {
+            return key;
+        }
+
+        long count() {
+            return count;
+        }
+
+        long error() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.alarm.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 크기가 고정된 문자열 사전 (문자열 <-> 정수 ID)
+ * 사전이 가득 차면 마지막 사용 순번이 주어진 기준보다 오래된 항목을 시계(clock) 방식으로 찾아 재사용한다.
+ * 재사용할 항목이 없으면(버퍼에 남아 있는 서로 다른 값이 용량보다 많으면) 값을 저장하지 않고 OTHER 를 돌려준다.
+ * 쓰기는 호출자가 동기화해야 하며, lookup 은 잠금 없이 호출할 수 있다.
+ */
+class StringDictionary {
+
+    static final int OTHER = -2;
+    static final String OTHER_VALUE = "(기타)";
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final String[] values;
+    private final long[] lastUsed;
+    private int size;
+    private int hand;
+    private long oldestInUse;
+    private volatile long overflows;
+
+    StringDictionary(int capacity) {
+        this.values = new String[capacity];
+        this.lastUsed = new long[capacity];
+    }
+
+    /**
+     * @param sequence 이 값을 참조하는 레코드 순번
+     * @param reusableBefore 이 순번 이전에만 쓰인 항목은 재사용 가능
+     * @return 사전 ID, 재사용할 항목이 없으면 OTHER
+     */
+    int encode(String value, long sequence, long reusableBefore) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = size < values.length ? size++ : evict(reusableBefore);
+            if (id == OTHER) {
+                overflows++;
+                return OTHER;
+            }
+            ids.put(value, id);
+            values[id] = value;
+        }
+        lastUsed[id] = sequence;
+        return id;
+    }
+
+    String lookup(int id) {
+        if (id == OTHER) {
+            return OTHER_VALUE;
+        }
+        return id >= 0 && id < values.length ? values[id] : null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return values.length;
+    }
+
+    long overflows() {
+        return overflows;
+    }
+
+    private int evict(long reusableBefore) {
+        // 직전 탐색에서 본 가장 오래된 사용 순번보다 기준이 앞서지 않았다면 다시 훑어도 재사용할 항목이 없다
+        if (reusableBefore <= oldestInUse) {
+            return OTHER;
+        }
+        long oldest = Long.MAX_VALUE;
+        for (int scanned = 0; scanned < values.length; scanned++) {
+            int candidate = hand;
+            hand = (hand + 1) % values.length;
+            if (lastUsed[candidate] < reusableBefore) {
+                ids.remove(values[candidate]);
+                return candidate;
+            }
+            oldest = Math.min(oldest, lastUsed[candidate]);
+        }
+        oldestInUse = oldest;
+        return OTHER;
+    }
+}
@@ -0,0 +1,58 @@
+package com.alarm.service;
+
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.MailSender;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실제 SMTP 대신 사용하는 부하 테스트용 메일 발송기
+ * 지정한 지연시간과 실패율로 SMTP 릴레이 동작을 흉내낸다
+ */
+public class StubMailSender implements MailSender {
+
+    private final long latencyMillis;
+    private final double errorRate;
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public StubMailSender(long latencyMillis, double errorRate) {
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public void send(SimpleMailMessage simpleMessage) {
+        if (latencyMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MailSendException("스텁 발송 중단", e);
+            }
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            failedCount.incrementAndGet();
+            throw new MailSendException("스텁 발송 실패 (의도된 오류)");
+        }
+        sentCount.incrementAndGet();
+    }
+
+    @Override
+    public void send(SimpleMailMessage... simpleMessages) {
+        for (SimpleMailMessage message : simpleMessages) {
+            send(message);
+        }
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+}
@@ -0,0 +1,296 @@
+package com.alarm.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 웹훅(Slack/Teams 형식 JSON POST) 알람 채널
+ * - java.net.http.HttpClient 비동기 전송: 커넥션 재사용, HTTP/2 지원 시 단일 커넥션 다중화
+ * - 동시 전송 수 제한 (초과분은 제한된 크기의 대기열에서 순서대로 전송)
+ * - 네트워크 오류, 429, 5xx 응답은 지수 백오프로 재시도
+ * ALARM_WEBHOOK_URL 이 비어 있으면 비활성화된다
+ */
+@Slf4j
+@Service
+public class WebhookNotifier implements AlertNotifier {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentLinkedQueue<PendingSend> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    @Value("${ALARM_WEBHOOK_URL:}")
+    private String webhookUrl;
+
+    // 웹훅으로 보낼 알람 종류 (기본: 시스템 레벨만)
+    @Value("${ALARM_WEBHOOK_ALERT_TYPES:SYSTEM_LEVEL}")
+    private String alertTypes;
+
+    @Value("${ALARM_WEBHOOK_MAX_IN_FLIGHT:16}")
+    private int maxInFlight;
+
+    @Value("${ALARM_WEBHOOK_MAX_PENDING:1000}")
+    private int maxPending;
+
+    @Value("${ALARM_WEBHOOK_MAX_ATTEMPTS:3}")
+    private int maxAttempts;
+
+    @Value("${ALARM_WEBHOOK_BACKOFF_MS:500}")
+    private long backoffMillis;
+
+    @Value("${ALARM_WEBHOOK_TIMEOUT_MS:5000}")
+    private long timeoutMillis;
+
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private Semaphore inFlight;
+    private Set<AlertType> supportedTypes;
+
+    @PostConstruct
+    void init() {
+        supportedTypes = Arrays.stream(alertTypes.split(","))
+                .map(String::trim)
+                .filter(type -> !type.isEmpty())
+                .map(AlertType::valueOf)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(AlertType.class)));
+        inFlight = new Semaphore(maxInFlight);
+        if (!isEnabled()) {
+            // 비활성화 상태에서는 클라이언트 스레드를 만들지 않는다
+            return;
+        }
+        clientExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "webhook-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(timeoutMillis))
+                .executor(clientExecutor)
+                .build();
+        log.info("웹훅 알람 채널 활성화 - 대상: {}, 알람 종류: {}, 동시 전송: {}", webhookUrl, supportedTypes, maxInFlight);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (clientExecutor == null) {
+            return;
+        }
+        clientExecutor.shutdown();
+        try {
+            // 전송 중인 요청이 끝날 시간을 조금 준다
+            if (!clientExecutor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                clientExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            clientExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (pendingCount.get() > 0) {
+            log.warn("⚠️ 종료 시 전송하지 못한 웹훅 {}건", pendingCount.get());
+        }
+    }
+
+    public boolean isEnabled() {
+        return webhookUrl != null && !webhookUrl.isBlank();
+    }
+
+    @Override
+    public String channelName() {
+        return "webhook";
+    }
+
+    @Override
+    public boolean supports(AlertType alertType) {
+        return isEnabled() && supportedTypes.contains(alertType);
+    }
+
+    @Override
+    public CompletableFuture<Void> notify(AlertType alertType, String topicName, String messageData,
+                                          IpListMatch ipMatch) {
+        if (LoadGeneratorService.isSynthetic(topicName)) {
+            // 부하 테스트 합성 알람은 외부 웹훅으로 보내지 않는다
+            return CompletableFuture.completedFuture(null);
+        }
+        PendingSend send = new PendingSend(buildPayload(alertType, topicName, messageData, ipMatch));
+        if (inFlight.tryAcquire()) {
+            attempt(send, 1);
+        } else if (pendingCount.incrementAndGet() <= maxPending) {
+            pending.offer(send);
+            // 대기열에 넣는 사이 슬롯이 비었을 수 있으므로 한 번 더 확인
+            drainPending();
+        } else {
+            pendingCount.decrementAndGet();
+            failedCount.incrementAndGet();
+            send.result.completeExceptionally(new IllegalStateException("웹훅 대기열 초과 (" + maxPending + ")"));
+        }
+        return send.result;
+    }
+
+    /**
+     * 현재 상태 (전송 중, 대기 중, 누적 성공/실패)
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("inFlight", maxInFlight - inFlight.availablePermits());
+        stats.put("pending", pendingCount.get());
+        stats.put("sent", sentCount.get());
+        stats.put("failed", failedCount.get());
+        return stats;
+    }
+
+    private void attempt(PendingSend send, int attemptNumber) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(webhookUrl))
+                    .timeout(Duration.ofMillis(timeoutMillis))
+                    .header("Content-Type", "application/json; charset=utf-8")
+                    .POST(HttpRequest.BodyPublishers.ofString(send.payload))
+                    .build();
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            finish(send, e);
+            return;
+        }
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    boolean retryable;
+                    String reason;
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        retryable = cause instanceof IOException;
+                        reason = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+                    } else if (response.statusCode() / 100 == 2) {
+                        sentCount.incrementAndGet();
+                        finish(send, null);
+                        return;
+                    } else {
+                        int status = response.statusCode();
+                        retryable = status == 429 || status >= 500;
+                        reason = "HTTP " + status;
+                    }
+
+                    if (retryable && attemptNumber < maxAttempts) {
+                        long delay = backoffMillis << (attemptNumber - 1);
+                        log.warn("웹훅 전송 재시도 {}/{} ({}ms 후) - {}", attemptNumber + 1, maxAttempts, delay, reason);
+                        // 재시도 대기 중에는 슬롯을 유지해서 장애 중인 대상에 요청이 몰리지 않게 한다
+                        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                                .execute(() -> attempt(send, attemptNumber + 1));
+                    } else {
+                        failedCount.incrementAndGet();
+                        finish(send, new IllegalStateException("웹훅 전송 실패 (" + attemptNumber + "회 시도): " + reason));
+                    }
+                });
+    }
+
+    private void finish(PendingSend send, Throwable error) {
+        inFlight.release();
+        if (error == null) {
+            send.result.complete(null);
+        } else {
+            send.result.completeExceptionally(error);
+        }
+        drainPending();
+    }
+
+    private void drainPending() {
+        while (!pending.isEmpty() && inFlight.tryAcquire()) {
+            PendingSend next = pending.poll();
+            if (next == null) {
+                inFlight.release();
+                return;
+            }
+            pendingCount.decrementAndGet();
+            attempt(next, 1);
+        }
+    }
+
+    /**
+     * Slack/Teams 호환 페이로드 ("text" 필드) + 원본 주요 필드 + IP 목록 대조 결과
+     */
+    private String buildPayload(AlertType alertType, String topicName, String messageData, IpListMatch ipMatch) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        ObjectNode alert = payload.putObject("alert");
+        alert.put("topic", topicName);
+        alert.put("type", alertType.name());
+
+        StringBuilder text = new StringBuilder();
+        if (ipMatch != null) {
+            ObjectNode ipList = alert.putObject("ipList");
+            ipList.put("list", ipMatch.list());
+            ipList.put("action", ipMatch.action().name());
+            ipList.put("cidr", ipMatch.cidr());
+            ipList.put("label", ipMatch.label());
+            text.append(ipMatch.action() == IpListAction.ESCALATE ? "[🚨 " : "[🏷️ ").append(ipMatch.list()).append("] ");
+        }
+        text.append(titleFor(alertType)).append(" `").append(topicName).append('`');
+        if (ipMatch != null) {
+            text.append("\n🛡️ IP 목록 일치: ").append(ipMatch.describe());
+        }
+        try {
+            JsonNode event = objectMapper.readTree(messageData);
+            for (String field : new String[]{"id", "clientIp", "principal", "operation", "resourceName", "alertType", "description", "failureCount"}) {
+                JsonNode value = event.get(field);
+                if (value != null && !value.isNull()) {
+                    alert.put(field, value.asText());
+                    text.append("\n• ").append(field).append(": ").append(value.asText());
+                }
+            }
+        } catch (Exception e) {
+            alert.put("raw", messageData);
+            text.append("\n").append(messageData);
+        }
+        payload.put("text", text.toString());
+        return payload.toString();
+    }
+
+    private String titleFor(AlertType alertType) {
+        return switch (alertType) {
+            case SYSTEM_LEVEL -> "🚨 시스템 보안 알람";
+            case RESOURCE_LEVEL -> "⚠️ 리소스/사용자 보안 알람";
+            case AUTH_FAILURE -> "🔐 인증 실패 보안 알람";
+            case LOCATION_CHANGE -> "🌍 위치 변경 보안 알람";
+        };
+    }
+
+    private static class PendingSend {
+
+        private final String payload;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        PendingSend(String payload) {
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.alarm.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CidrTrieTest {
+
+    @Test
+    void matchesLongestPrefixLikeBruteForceScan() {
+        Random random = new Random(7);
+        // 적은 수의 기준 주소에서 길이만 바꿔 만들어 서로 겹치고 포함하는 CIDR 이 많이 생기게 한다
+        List<long[]> bases = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            bases.add(i % 2 == 0 ? ipv4(random.nextInt()) : new long[]{random.nextLong(), random.nextLong()});
+        }
+
+        CidrTrie.Builder builder = new CidrTrie.Builder();
+        // (정규화된 접두사, 길이) -> 값, 같은 CIDR 은 나중 값이 우선
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        List<long[]> prefixes = new ArrayList<>();
+        for (int value = 0; value < 3000; value++) {
+            long[] base = bases.get(random.nextInt(bases.size()));
+            long[] address = perturb(base, random);
+            boolean v4 = isIpv4Mapped(address);
+            int prefixLength;
+            String cidr;
+            int style = random.nextInt(3);
+            if (v4 && style < 2) {
+                // 점 표기 IPv4 (a.b.c.d/n), 길이는 96 + n
+                int length = random.nextInt(33);
+                prefixLength = 96 + length;
+                cidr = formatIpv4((int) address[1]) + "/" + length;
+            } else if (v4) {
+                // IPv4-mapped IPv6 표기 (::ffff:a.b.c.d/n)
+                prefixLength = 96 + random.nextInt(33);
+                cidr = "::ffff:" + formatIpv4((int) address[1]) + "/" + prefixLength;
+            } else {
+                prefixLength = random.nextInt(129);
+                cidr = formatIpv6(address) + "/" + prefixLength;
+            }
+
+            assertThat(builder.add(cidr, value)).isTrue();
+            long[] masked = maskTo(address, prefixLength);
+            String key = masked[0] + ":" + masked[1] + "/" + prefixLength;
+            if (expected.put(key, value) == null) {
+                prefixes.add(new long[]{masked[0], masked[1], prefixLength});
+            }
+        }
+        CidrTrie trie = builder.build();
+        assertThat(trie.nodeCount()).isLessThan(expected.size() * 2 + 2);
+
+        int matched = 0;
+        for (int i = 0; i < 20_000; i++) {
+            long[] query = perturb(bases.get(random.nextInt(bases.size())), random);
+            long[] best = null;
+            for (long[] prefix : prefixes) {
+                int length = (int) prefix[2];
+                long[] masked = maskTo(query, length);
+                if (masked[0] == prefix[0] && masked[1] == prefix[1] && (best == null || length > best[2])) {
+                    best = prefix;
+                }
+            }
+
+            int node = trie.lookup(query[0], query[1]);
+            if (best == null) {
+                assertThat(node).isEqualTo(CidrTrie.NO_MATCH);
+            } else {
+                assertThat(node).isNotEqualTo(CidrTrie.NO_MATCH);
+                assertThat(trie.value(node)).isEqualTo(expected.get(best[0] + ":" + best[1] + "/" + best[2]));
+                matched++;
+            }
+        }
+        // 무작위 질의 대부분이 어떤 접두사와 겹쳐야 비교가 의미 있다
+        assertThat(matched).isGreaterThan(10_000);
+    }
+
+    @Test
+    void prefersMoreSpecificCidrAndKeepsLaterValueForSameCidr() {
+        CidrTrie.Builder builder = new CidrTrie.Builder();
+        assertThat(builder.add("10.0.0.0/8", 1)).isTrue();
+        assertThat(builder.add("10.1.0.0/16", 2)).isTrue();
+        assertThat(builder.add("10.1.2.3", 3)).isTrue();
+        assertThat(builder.add("10.1.9.9/16", 4)).isTrue();
+        assertThat(builder.add("2001:db8::/32", 5)).isTrue();
+        assertThat(builder.add("::ffff:192.168.0.0/112", 6)).isTrue();
+        CidrTrie trie = builder.build();
+
+        assertThat(valueOf(trie, "10.200.0.1")).isEqualTo(1);
+        assertThat(valueOf(trie, "10.1.0.1")).isEqualTo(4);
+        assertThat(valueOf(trie, "10.1.2.3")).isEqualTo(3);
+        assertThat(valueOf(trie, "2001:db8:1::1")).isEqualTo(5);
+        assertThat(valueOf(trie, "192.168.44.1")).isEqualTo(6);
+        assertThat(valueOf(trie, "11.0.0.1")).isEqualTo(CidrTrie.NO_MATCH);
+        assertThat(trie.cidr(trie.lookup(0, CidrTrie.parseAddress("10.1.0.1")[1]))).isEqualTo("10.1.0.0/16");
+        assertThat(trie.cidr(trie.lookup(0, CidrTrie.parseAddress("192.168.1.1")[1]))).isEqualTo("192.168.0.0/16");
+    }
+
+    @Test
+    void buildsCompressedNodesForLargeIpv6Lists() {
+        CidrTrie.Builder builder = new CidrTrie.Builder();
+        Random random = new Random(11);
+        int entries = 50_000;
+        for (int i = 0; i < entries; i++) {
+            builder.add(formatIpv6(new long[]{random.nextLong(), random.nextLong()}), i);
+        }
+        // 비트 단위 노드였다면 항목당 최대 128개
+        assertThat(builder.build().nodeCount()).isLessThan(entries * 2 + 2);
+    }
+
+    @Test
+    void rejectsMalformedCidr() {
+        CidrTrie.Builder builder = new CidrTrie.Builder();
+        assertThat(builder.add("10.0.0.0/33", 1)).isFalse();
+        assertThat(builder.add("2001:db8::/129", 1)).isFalse();
+        assertThat(builder.add("10.0.0.0/-1", 1)).isFalse();
+        assertThat(builder.add("10.0.0.0/abc", 1)).isFalse();
+        assertThat(builder.add("example.com/8", 1)).isFalse();
+        assertThat(builder.entries()).isZero();
+        assertThat(builder.build().lookup(0, CidrTrie.parseAddress("10.0.0.1")[1])).isEqualTo(CidrTrie.NO_MATCH);
+    }
+
+    private static int valueOf(CidrTrie trie, String ip) {
+        long[] address = CidrTrie.parseAddress(ip);
+        int node = trie.lookup(address[0], address[1]);
+        return node == CidrTrie.NO_MATCH ? CidrTrie.NO_MATCH : trie.value(node);
+    }
+
+    /**
+     * 기준 주소의 뒤쪽 비트 일부를 무작위로 바꾼다 (같은 주소군 안의 다른 주소)
+     */
+    private static long[] perturb(long[] base, Random random) {
+        if (isIpv4Mapped(base)) {
+            int bits = random.nextInt(33);
+            long low = bits == 0 ? 0 : random.nextLong() & ((1L << bits) - 1);
+            return new long[]{0, base[1] ^ low};
+        }
+        int bits = random.nextInt(129);
+        long hi = base[0];
+        long lo = base[1];
+        if (bits > 0) {
+            lo ^= random.nextLong() & (bits >= 64 ? -1L : (1L << bits) - 1);
+        }
+        if (bits > 64) {
+            hi ^= random.nextLong() & (bits == 128 ? -1L : (1L << (bits - 64)) - 1);
+        }
+        return new long[]{hi, lo};
+    }
+
+    private static long[] maskTo(long[] address, int prefixLength) {
+        long hi = prefixLength == 0 ? 0 : address[0] & (prefixLength >= 64 ? -1L : -1L << (64 - prefixLength));
+        long lo = prefixLength <= 64 ? 0 : address[1] & (prefixLength == 128 ? -1L : -1L << (128 - prefixLength));
+        return new long[]{hi, lo};
+    }
+
+    private static long[] ipv4(int address) {
+        return new long[]{0, 0x0000FFFF00000000L | Integer.toUnsignedLong(address)};
+    }
+
+    private static boolean isIpv4Mapped(long[] address) {
+        return address[0] == 0 && (address[1] & 0xFFFFFFFF00000000L) == 0x0000FFFF00000000L;
+    }
+
+    private static String formatIpv4(int address) {
+        return (address >>> 24) + "." + ((address >>> 16) & 0xFF) + "." + ((address >>> 8) & 0xFF) + "." + (address & 0xFF);
+    }
+
+    private static String formatIpv6(long[] address) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            long word = i < 4 ? address[0] >>> (48 - i * 16) : address[1] >>> (48 - (i - 4) * 16);
+            if (i > 0) {
+                text.append(':');
+            }
+            text.append(Long.toHexString(word & 0xFFFF));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.alarm.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+
+    private static final double EPSILON = 0.001;
+    private static final double DELTA = 0.01;
+
+    @Test
+    void neverUnderestimatesAndRarelyExceedsErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(EPSILON, DELTA);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(3);
+        int events = 200_000;
+        for (int i = 0; i < events; i++) {
+            // 소수의 키에 몰리는 치우친 분포 (실제 clientIp/principal 처럼)
+            String key = "10.0." + skewed(random, 20_000);
+            sketch.add(key);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        assertThat(sketch.total()).isEqualTo(events);
+        long bound = (long) Math.ceil(EPSILON * events);
+        int overBound = 0;
+        for (Map.Entry<String, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertThat(estimate).isGreaterThanOrEqualTo(entry.getValue());
+            if (estimate - entry.getValue() > bound) {
+                overBound++;
+            }
+        }
+        // 키마다 확률 δ 이하로만 오차 상한을 넘는다
+        assertThat(overBound).isLessThanOrEqualTo((int) (exact.size() * DELTA));
+    }
+
+    @Test
+    void clearResetsCountsAndTotal() {
+        CountMinSketch sketch = new CountMinSketch(EPSILON, DELTA);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("203.0.113." + (i % 7));
+        }
+        assertThat(sketch.estimate("203.0.113.1")).isGreaterThanOrEqualTo(14);
+
+        sketch.clear();
+
+        assertThat(sketch.total()).isZero();
+        assertThat(sketch.estimate("203.0.113.1")).isZero();
+    }
+
+    private static int skewed(Random random, int keys) {
+        // 지수적으로 치우친 순위 (앞쪽 키가 훨씬 자주 나온다)
+        return (int) Math.min(keys - 1, Math.floor(-Math.log(1 - random.nextDouble()) * keys / 20));
+    }
+}
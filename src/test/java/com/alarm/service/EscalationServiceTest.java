@@ -0,0 +1,43 @@
+package com.alarm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EscalationServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void restoresPendingEscalationFromChangelogJson() {
+        IpListMatch ipMatch = new IpListMatch("blocklist", IpListAction.ESCALATE, "203.0.113.0/24", "알려진 스캐너");
+        EscalationService.Pending original = new EscalationService.Pending("system-level-false", 3, "evt-1", "ADMIN",
+                "{\"clientIp\":\"203.0.113.7\"}", ipMatch, 1_700_000_000_000L, 2, 1_700_001_800_000L);
+
+        String json = original.toJson(objectMapper);
+        EscalationService.Pending restored = EscalationService.Pending.fromJson(objectMapper, json);
+
+        assertThat(restored).isNotNull();
+        assertThat(restored.toJson(objectMapper)).isEqualTo(json);
+        assertThat(restored.describe())
+                .containsEntry("eventId", "evt-1")
+                .containsEntry("topic", "system-level-false")
+                .containsEntry("partition", 3)
+                .containsEntry("operation", "ADMIN")
+                .containsEntry("notifications", 2);
+    }
+
+    @Test
+    void restoresPendingWithoutIpListMatchAndRejectsBrokenState() {
+        String json = "{\"topic\":\"system-level-false\",\"partition\":0,\"eventId\":\"evt-2\",\"operation\":\"ADMIN\","
+                + "\"message\":\"{}\",\"createdAt\":1700000000000,\"notifications\":0,\"nextAt\":1700000900000}";
+
+        EscalationService.Pending restored = EscalationService.Pending.fromJson(objectMapper, json);
+
+        assertThat(restored).isNotNull();
+        assertThat(restored.toJson(objectMapper)).isEqualTo(json);
+        assertThat(EscalationService.Pending.fromJson(objectMapper, "{\"eventId\":\"evt-3\"}")).isNull();
+        assertThat(EscalationService.Pending.fromJson(objectMapper, "not json")).isNull();
+    }
+}
@@ -0,0 +1,103 @@
+package com.alarm.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 64;
+    private static final long START = 1_000_003;
+
+    @Test
+    void expiresNeverEarlyAndAtMostTwoTicksLate() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, START);
+        Random random = new Random(42);
+        long horizon = TICK * WHEEL_SIZE * WHEEL_SIZE * 3;
+        int count = 5000;
+        for (int i = 0; i < count; i++) {
+            long expiration = START + random.nextLong(horizon);
+            wheel.schedule(expiration, expiration);
+        }
+
+        int fired = 0;
+        for (long now = START; now <= START + horizon + 2 * TICK; now++) {
+            for (long expiration : wheel.advance(now)) {
+                assertThat(now).isGreaterThanOrEqualTo(expiration);
+                assertThat(now - expiration).isLessThan(2 * TICK);
+                fired++;
+            }
+        }
+        assertThat(fired).isEqualTo(count);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledTimerInRootLevelNeverFires() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, START);
+        HierarchicalTimingWheel.Timer<String> cancelled = wheel.schedule(START + 5 * TICK, "cancelled");
+        wheel.schedule(START + 5 * TICK, "kept");
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(advanceUntil(wheel, START + 10 * TICK)).containsExactly("kept");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void timerBeyondRootRangeCascadesFromOverflowLevel() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, START);
+        long expiration = START + TICK * WHEEL_SIZE * 3 + 7;
+        HierarchicalTimingWheel.Timer<String> cancelled = wheel.schedule(expiration, "cancelled");
+        wheel.schedule(expiration, "overflow");
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.advance(expiration - 1)).isEmpty();
+        List<String> fired = advanceUntil(wheel, expiration + 2 * TICK);
+        assertThat(fired).containsExactly("overflow");
+    }
+
+    @Test
+    void timerFurtherThanTwoLevelsAwayIsNotEarly() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, START);
+        long expiration = START + TICK * WHEEL_SIZE * WHEEL_SIZE * 5 + 3;
+        wheel.schedule(expiration, "far");
+
+        assertThat(wheel.advance(expiration - 1)).isEmpty();
+        long firedAt = -1;
+        for (long now = expiration; now < expiration + 2 * TICK && firedAt < 0; now++) {
+            if (!wheel.advance(now).isEmpty()) {
+                firedAt = now;
+            }
+        }
+        assertThat(firedAt).isBetween(expiration, expiration + 2 * TICK - 1);
+    }
+
+    @Test
+    void pastExpirationGoesToReadyBucketAndFiresOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, START);
+        wheel.advance(START + 20 * TICK);
+
+        HierarchicalTimingWheel.Timer<String> cancelled = wheel.schedule(START, "cancelled");
+        wheel.schedule(START + 5 * TICK, "ready");
+        assertThat(wheel.size()).isEqualTo(2);
+        assertThat(wheel.cancel(cancelled)).isTrue();
+
+        assertThat(wheel.advance(START + 20 * TICK)).containsExactly("ready");
+        assertThat(wheel.size()).isZero();
+    }
+
+    private static List<String> advanceUntil(HierarchicalTimingWheel<String> wheel, long until) {
+        List<String> fired = new ArrayList<>();
+        for (long now = START; now <= until; now++) {
+            fired.addAll(wheel.advance(now));
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,80 @@
+package com.alarm.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTopKTest {
+
+    private static final int CAPACITY = 50;
+
+    @Test
+    void tracksEveryKeyAboveThresholdWithinRecordedError() {
+        Random random = new Random(5);
+        List<String> stream = new ArrayList<>();
+        // 상위 키 5개는 N/K 를 넘고, 나머지는 많은 수의 드문 키
+        int[] heavyCounts = {3000, 2000, 1500, 1000, 800};
+        for (int i = 0; i < heavyCounts.length; i++) {
+            for (int j = 0; j < heavyCounts[i]; j++) {
+                stream.add("heavy-" + i);
+            }
+        }
+        for (int i = 0; i < 20_000; i++) {
+            stream.add("noise-" + random.nextInt(5_000));
+        }
+        Collections.shuffle(stream, random);
+
+        SpaceSavingTopK topK = new SpaceSavingTopK(CAPACITY);
+        Map<String, Long> exact = new HashMap<>();
+        for (String key : stream) {
+            topK.add(key);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        List<SpaceSavingTopK.Counter> top = topK.top(CAPACITY);
+        Map<String, SpaceSavingTopK.Counter> tracked = new HashMap<>();
+        for (SpaceSavingTopK.Counter counter : top) {
+            tracked.put(counter.key(), counter);
+            // 과대 추정만 하고, 그 폭은 기록된 오차 이하
+            assertThat(counter.count()).isGreaterThanOrEqualTo(exact.get(counter.key()));
+            assertThat(counter.count() - counter.error()).isLessThanOrEqualTo(exact.get(counter.key()));
+        }
+
+        long threshold = stream.size() / CAPACITY;
+        exact.forEach((key, count) -> {
+            if (count > threshold) {
+                assertThat(tracked).containsKey(key);
+            }
+        });
+        // 상위 K 의 앞쪽은 실제 상위 키들이다
+        List<String> first = new ArrayList<>();
+        topK.top(heavyCounts.length).forEach(counter -> first.add(counter.key()));
+        assertThat(first).containsExactlyInAnyOrder("heavy-0", "heavy-1", "heavy-2", "heavy-3", "heavy-4");
+    }
+
+    @Test
+    void countsExactlyWhileUnderCapacity() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(CAPACITY);
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j <= i; j++) {
+                topK.add("user" + i);
+            }
+        }
+
+        List<SpaceSavingTopK.Counter> top = topK.top(3);
+        assertThat(top).hasSize(3);
+        assertThat(top.get(0).key()).isEqualTo("user9");
+        assertThat(top.get(0).count()).isEqualTo(10);
+        assertThat(top.get(2).key()).isEqualTo("user7");
+        for (SpaceSavingTopK.Counter counter : topK.top(CAPACITY)) {
+            assertThat(counter.error()).isZero();
+        }
+    }
+}
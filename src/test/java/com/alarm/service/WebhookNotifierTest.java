@@ -0,0 +1,192 @@
+package com.alarm.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebhookNotifierTest {
+
+    private static final String TOPIC = "system-level-false";
+    private static final String EVENT = "{\"id\":\"evt-1\",\"clientIp\":\"203.0.113.7\",\"operation\":\"ADMIN\"}";
+    private static final long BACKOFF_MS = 50;
+
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private final Queue<Long> arrivals = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private HttpServer server;
+    private WebhookNotifier notifier;
+
+    @AfterEach
+    void tearDown() {
+        if (notifier != null) {
+            notifier.shutdown();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void retriesServerErrorAndTooManyRequestsWithExponentialBackoff() throws Exception {
+        startServer(new int[]{503, 429, 200}, null);
+        notifier = notifier(3, 16, 100);
+
+        notifier.notify(AlertType.SYSTEM_LEVEL, TOPIC, EVENT, null).get(5, TimeUnit.SECONDS);
+
+        List<Long> times = new ArrayList<>(arrivals);
+        assertThat(times).hasSize(3);
+        assertThat(times.get(1) - times.get(0)).isGreaterThanOrEqualTo(BACKOFF_MS);
+        assertThat(times.get(2) - times.get(1)).isGreaterThanOrEqualTo(BACKOFF_MS * 2);
+        assertThat(notifier.stats()).containsEntry("sent", 1L).containsEntry("failed", 0L);
+    }
+
+    @Test
+    void failsAfterMaxAttemptsAndDoesNotRetryClientErrors() throws Exception {
+        startServer(new int[]{500, 500, 400}, null);
+        notifier = notifier(2, 16, 100);
+
+        CompletableFuture<Void> exhausted = notifier.notify(AlertType.SYSTEM_LEVEL, TOPIC, EVENT, null);
+        assertThatThrownBy(() -> exhausted.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("HTTP 500");
+        assertThat(arrivals).hasSize(2);
+
+        CompletableFuture<Void> rejected = notifier.notify(AlertType.SYSTEM_LEVEL, TOPIC, EVENT, null);
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("HTTP 400");
+        assertThat(arrivals).hasSize(3);
+        assertThat(notifier.stats()).containsEntry("failed", 2L);
+    }
+
+    @Test
+    void keepsConcurrentRequestsWithinInFlightLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        startServer(new int[]{200}, release);
+        notifier = notifier(1, 2, 100);
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            results.add(notifier.notify(AlertType.SYSTEM_LEVEL, TOPIC, EVENT, null));
+        }
+        awaitArrivals(2);
+        // 슬롯이 비기 전에는 세 번째 요청이 나가지 않아야 한다
+        Thread.sleep(200);
+        assertThat(arrivals).hasSize(2);
+        assertThat(notifier.stats()).containsEntry("inFlight", 2).containsEntry("pending", 4);
+
+        release.countDown();
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertThat(arrivals).hasSize(6);
+        assertThat(maxActive.get()).isEqualTo(2);
+        assertThat(notifier.stats()).containsEntry("inFlight", 0).containsEntry("pending", 0).containsEntry("sent", 6L);
+    }
+
+    @Test
+    void rejectsWhenPendingQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        startServer(new int[]{200}, release);
+        notifier = notifier(1, 1, 2);
+
+        List<CompletableFuture<Void>> accepted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            accepted.add(notifier.notify(AlertType.SYSTEM_LEVEL, TOPIC, EVENT, null));
+        }
+        CompletableFuture<Void> overflow = notifier.notify(AlertType.SYSTEM_LEVEL, TOPIC, EVENT, null);
+
+        assertThat(overflow).isCompletedExceptionally();
+        assertThatThrownBy(overflow::join).hasMessageContaining("웹훅 대기열 초과");
+        assertThat(notifier.stats()).containsEntry("pending", 2).containsEntry("failed", 1L);
+
+        release.countDown();
+        CompletableFuture.allOf(accepted.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertThat(arrivals).hasSize(3);
+    }
+
+    @Test
+    void staysIdleWithoutWebhookUrl() {
+        notifier = new WebhookNotifier();
+        configure(notifier, "", 3, 16, 100);
+        notifier.init();
+
+        assertThat(notifier.isEnabled()).isFalse();
+        assertThat(notifier.supports(AlertType.SYSTEM_LEVEL)).isFalse();
+        assertThat(ReflectionTestUtils.getField(notifier, "httpClient")).isNull();
+        assertThat(ReflectionTestUtils.getField(notifier, "clientExecutor")).isNull();
+        assertThat(notifier.stats()).containsEntry("enabled", false).containsEntry("inFlight", 0);
+    }
+
+    /**
+     * 요청마다 statuses 를 차례로 응답하고(마지막 값 반복), release 가 있으면 응답 전에 기다린다
+     */
+    private void startServer(int[] statuses, CountDownLatch release) throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/hook", exchange -> {
+            arrivals.add(System.nanoTime() / 1_000_000);
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                exchange.getRequestBody().readAllBytes();
+                if (release != null) {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                int status = statuses[Math.min(requests.getAndIncrement(), statuses.length - 1)];
+                exchange.sendResponseHeaders(status, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    private WebhookNotifier notifier(int maxAttempts, int maxInFlight, int maxPending) {
+        WebhookNotifier webhookNotifier = new WebhookNotifier();
+        configure(webhookNotifier, "http://127.0.0.1:" + server.getAddress().getPort() + "/hook",
+                maxAttempts, maxInFlight, maxPending);
+        webhookNotifier.init();
+        return webhookNotifier;
+    }
+
+    private static void configure(WebhookNotifier webhookNotifier, String url, int maxAttempts, int maxInFlight,
+                                  int maxPending) {
+        ReflectionTestUtils.setField(webhookNotifier, "webhookUrl", url);
+        ReflectionTestUtils.setField(webhookNotifier, "alertTypes", "SYSTEM_LEVEL");
+        ReflectionTestUtils.setField(webhookNotifier, "maxInFlight", maxInFlight);
+        ReflectionTestUtils.setField(webhookNotifier, "maxPending", maxPending);
+        ReflectionTestUtils.setField(webhookNotifier, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(webhookNotifier, "backoffMillis", BACKOFF_MS);
+        ReflectionTestUtils.setField(webhookNotifier, "timeoutMillis", 2000L);
+    }
+
+    private void awaitArrivals(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (arrivals.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(arrivals).hasSize(count);
+    }
+}